@@ -5,6 +5,9 @@ import com.artillexstudios.axapi.utils.featureflags.FeatureFlags;
 import hu.exteron.ogpoll.config.ConfigManager;
 import hu.exteron.ogpoll.commands.CommandManager;
 import hu.exteron.ogpoll.database.DatabaseManager;
+import hu.exteron.ogpoll.gui.GuiTicker;
+import hu.exteron.ogpoll.gui.ItemRenderCache;
+import hu.exteron.ogpoll.gui.RenderStats;
 import hu.exteron.ogpoll.managers.ChatInputManager;
 import hu.exteron.ogpoll.managers.CleanupManager;
 import hu.exteron.ogpoll.managers.PollManager;
@@ -16,10 +19,12 @@ public final class OGPoll extends AxPlugin {
     private DatabaseManager databaseManager;
     private PollManager pollManager;
     private CommandManager commandManager;
+    private GuiTicker guiTicker;
 
     @Override
     public void enable() {
         instance = this;
+        RenderStats.reset();
 
         getLogger().info("Enabling OG-Poll...");
 
@@ -27,10 +32,14 @@ public final class OGPoll extends AxPlugin {
         databaseManager = new DatabaseManager(this, configManager);
         pollManager = new PollManager(this, configManager);
         pollManager.loadActivePolls();
+        guiTicker = new GuiTicker(configManager, pollManager);
+        guiTicker.start();
         commandManager = new CommandManager(this);
         ChatInputManager.init(configManager);
         getServer().getPluginManager().registerEvents(new ChatInputManager(configManager), this);
         getServer().getPluginManager().registerEvents(new CleanupManager(), this);
+        getServer().getPluginManager().registerEvents(pollManager.getVoteCache(), this);
+        pollManager.getVoteCache().loadOnlinePlayers();
 
         getLogger().info("OG-Poll enabled successfully!");
     }
@@ -39,6 +48,10 @@ public final class OGPoll extends AxPlugin {
     public void disable() {
         getLogger().info("Disabling OG-Poll...");
 
+        if (guiTicker != null) {
+            guiTicker.shutdown();
+        }
+
         if (databaseManager != null) {
             databaseManager.shutdown();
         }
@@ -56,6 +69,7 @@ public final class OGPoll extends AxPlugin {
         if (configManager != null) {
             configManager.reload();
         }
+        ItemRenderCache.clear();
         getLogger().info("Configurations reloaded!");
     }
 
@@ -85,4 +99,8 @@ public final class OGPoll extends AxPlugin {
     public CommandManager getCommandManager() {
         return commandManager;
     }
+
+    public GuiTicker getGuiTicker() {
+        return guiTicker;
+    }
 }
@@ -9,11 +9,15 @@ import org.bukkit.command.CommandSender;
 import java.io.File;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigManager {
     private final OGPoll plugin;
     private Config config;
     private Config guiConfig;
+    private GuiTemplates guiTemplates;
+    private final Map<String, TextTemplate> messageTemplates = new ConcurrentHashMap<>();
+    private final Map<String, TextTemplate> rawMessageTemplates = new ConcurrentHashMap<>();
     private Config messagesConfig;
 
     public ConfigManager(OGPoll plugin) {
@@ -33,6 +37,10 @@ public class ConfigManager {
         return guiConfig;
     }
 
+    public GuiTemplates getGuiTemplates() {
+        return guiTemplates;
+    }
+
     public Config getMessagesConfig() {
         return messagesConfig;
     }
@@ -69,6 +77,30 @@ public class ConfigManager {
         return config.getLong("database.pool.connection-timeout", 5000L);
     }
 
+    public long getVoteBufferFlushIntervalMillis() {
+        return config.getLong("database.vote-buffer.flush-interval-milliseconds", 250L);
+    }
+
+    public int getVoteBufferMaxBatchSize() {
+        return config.getInt("database.vote-buffer.max-batch-size", 100);
+    }
+
+    public int getDatabaseQueueCapacity() {
+        return config.getInt("database.queue-capacity", 256);
+    }
+
+    public int getDatabaseReservedWriteConnections() {
+        return config.getInt("database.reserved-write-connections", 2);
+    }
+
+    public long getDatabaseCoalesceFreshnessMillis() {
+        return config.getLong("database.coalesce-freshness-milliseconds", 250L);
+    }
+
+    public long getGuiRefreshBudgetMicros() {
+        return config.getLong("gui.refresh-budget-microseconds", 2000L);
+    }
+
     public int getMaxActivePolls() {
         return config.getInt("poll.max-active-polls", 10);
     }
@@ -81,6 +113,10 @@ public class ConfigManager {
         return config.getInt("poll.max-options", 6);
     }
 
+    public int getPollListPageSize() {
+        return Math.max(1, config.getInt("poll.list-page-size", 10));
+    }
+
     public boolean shouldShowVoteCounts() {
         return config.getBoolean("poll.show-vote-counts", true);
     }
@@ -106,9 +142,7 @@ public class ConfigManager {
     }
 
     public Component message(String path, Map<String, String> replacements) {
-        String raw = messagesConfig.getString(path, "");
-        String resolved = applyReplacements(prependPrefix(raw), replacements);
-        return StringUtils.format(resolved);
+        return messageTemplate(path).render(replacements);
     }
 
     public String messageString(String path) {
@@ -116,9 +150,14 @@ public class ConfigManager {
     }
 
     public String messageString(String path, Map<String, String> replacements) {
-        String raw = messagesConfig.getString(path, "");
-        String resolved = applyReplacements(prependPrefix(raw), replacements);
-        return StringUtils.formatToString(resolved);
+        return StringUtils.formatToString(messageTemplate(path).resolve(replacements));
+    }
+
+    // The message without the prefix and without MiniMessage parsing, for prompts that are shown elsewhere
+    public String rawMessage(String path, Map<String, String> replacements) {
+        return rawMessageTemplates
+            .computeIfAbsent(path, key -> TextTemplate.compile(messagesConfig.getString(key, "")))
+            .resolve(replacements);
     }
 
     public void sendMessage(CommandSender sender, String path) {
@@ -138,21 +177,19 @@ public class ConfigManager {
             new File(plugin.getDataFolder(), "gui.yml"),
             plugin.getResource("gui.yml")
         );
+        guiTemplates = GuiTemplates.compile(guiConfig);
         messagesConfig = new Config(
             new File(plugin.getDataFolder(), "messages.yml"),
             plugin.getResource("messages.yml")
         );
+        messageTemplates.clear();
+        rawMessageTemplates.clear();
     }
 
-    private String applyReplacements(String input, Map<String, String> replacements) {
-        String output = input;
-        if (replacements == null || replacements.isEmpty()) {
-            return output;
-        }
-        for (Map.Entry<String, String> entry : replacements.entrySet()) {
-            output = output.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return output;
+    // Compiled lazily per path, since only a handful of the messages are ever sent
+    private TextTemplate messageTemplate(String path) {
+        return messageTemplates.computeIfAbsent(path,
+            key -> TextTemplate.compile(prependPrefix(messagesConfig.getString(key, ""))));
     }
 
     private String prependPrefix(String input) {
@@ -0,0 +1,357 @@
+package hu.exteron.ogpoll.config;
+
+import com.artillexstudios.axapi.config.Config;
+import com.artillexstudios.axapi.utils.StringUtils;
+import dev.triumphteam.gui.builder.item.ItemBuilder;
+import dev.triumphteam.gui.components.GuiAction;
+import dev.triumphteam.gui.guis.GuiItem;
+import net.kyori.adventure.text.Component;
+import hu.exteron.ogpoll.utils.ProgressBarUtil;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// gui.yml resolved once per load/reload; GUIs render from these and never walk the config tree
+public final class GuiTemplates {
+    private static final String[] VOTE_PLACEHOLDERS = {"votes", "percentage", "progress_bar", "total_votes"};
+
+    private final Creation creation;
+    private final PollList pollList;
+    private final Voting voting;
+    private final Finished finished;
+    private final ProgressBar progressBar;
+
+    private GuiTemplates(Creation creation, PollList pollList, Voting voting, Finished finished, ProgressBar progressBar) {
+        this.creation = creation;
+        this.pollList = pollList;
+        this.voting = voting;
+        this.finished = finished;
+        this.progressBar = progressBar;
+    }
+
+    public static GuiTemplates compile(Config config) {
+        return new GuiTemplates(
+            compileCreation(config),
+            compilePollList(config),
+            compileVoting(config),
+            compileFinished(config),
+            compileProgressBar(config)
+        );
+    }
+
+    public Creation creation() {
+        return creation;
+    }
+
+    public PollList pollList() {
+        return pollList;
+    }
+
+    public Voting voting() {
+        return voting;
+    }
+
+    public Finished finished() {
+        return finished;
+    }
+
+    public ProgressBar progressBar() {
+        return progressBar;
+    }
+
+    private static Creation compileCreation(Config config) {
+        String base = "creation-template-gui";
+        List<Template> templates = new ArrayList<>();
+        addTemplate(templates, config, "yes-no", 2, true);
+        addTemplate(templates, config, "two-options", 2, false);
+        addTemplate(templates, config, "multiple-choice-3", 3, false);
+        addTemplate(templates, config, "multiple-choice-4", 4, false);
+        addTemplate(templates, config, "multiple-choice-6", 6, false);
+
+        return new Creation(
+            TextTemplate.compile(config.getString(base + ".layout.title", "Select Poll Type")),
+            config.getInt(base + ".layout.rows", 5),
+            decoration(config, base + ".decoration", "ORANGE_STAINED_GLASS_PANE"),
+            List.copyOf(templates),
+            item(config, base + ".cancel", -1, Material.BARRIER, "Cancel")
+        );
+    }
+
+    private static void addTemplate(List<Template> templates, Config config, String key, int maxOptions, boolean yesNo) {
+        Item item = item(config, "creation-template-gui.templates." + key, -1, Material.PAPER, "");
+        if (item.isEnabled()) {
+            templates.add(new Template(item, maxOptions, yesNo));
+        }
+    }
+
+    private static PollList compilePollList(Config config) {
+        String base = "poll-list-gui";
+        return new PollList(
+            TextTemplate.compile(config.getString(base + ".layout.title", "Active Polls")),
+            config.getInt(base + ".layout.rows", 6),
+            decoration(config, base + ".decoration", "GREEN_STAINED_GLASS_PANE"),
+            item(config, base + ".items.poll-item", -1, Material.BOOK, ""),
+            item(config, base + ".items.poll-item-voted", -1, Material.BOOK, ""),
+            item(config, base + ".items.no-polls", 22, Material.BARRIER, "No Active Polls"),
+            item(config, base + ".navigation.previous", -1, Material.ARROW, ""),
+            item(config, base + ".navigation.next", -1, Material.ARROW, ""),
+            item(config, base + ".navigation.refresh", -1, Material.ARROW, ""),
+            item(config, base + ".navigation.finished", -1, Material.ARROW, "")
+        );
+    }
+
+    private static Voting compileVoting(Config config) {
+        String base = "voting-gui";
+        Item option = item(config, base + ".items.option-item", -1, Material.PAPER, "");
+        Item optionVoted = item(config, base + ".items.option-item-voted", option);
+
+        List<String> materialNames = config.getStringList(base + ".items.option-item.materials");
+        Material[] optionMaterials;
+        if (materialNames != null && !materialNames.isEmpty()) {
+            optionMaterials = new Material[materialNames.size()];
+            for (int i = 0; i < optionMaterials.length; i++) {
+                optionMaterials[i] = parseMaterial(materialNames.get(i), Material.PAPER);
+            }
+        } else {
+            optionMaterials = new Material[]{option.material()};
+        }
+
+        return new Voting(
+            TextTemplate.compile(config.getString(base + ".layout.title", "Vote Now")),
+            decorationItem(config, base + ".decoration", "GREEN_STAINED_GLASS_PANE"),
+            item(config, base + ".items.question-info", 4, Material.BOOK, ""),
+            option,
+            optionVoted,
+            optionMaterials,
+            item(config, base + ".navigation.back", -1, Material.ARROW, "Back")
+        );
+    }
+
+    private static Finished compileFinished(Config config) {
+        String base = "finished-polls-gui";
+        return new Finished(
+            TextTemplate.compile(config.getString(base + ".layout.title", "Finished Polls")),
+            config.getInt(base + ".layout.rows", 6),
+            decoration(config, base + ".decoration", "GREEN_STAINED_GLASS_PANE"),
+            item(config, base + ".items.poll-item", -1, Material.BOOK, ""),
+            item(config, base + ".items.no-polls", 22, Material.BARRIER, "No Finished Polls"),
+            item(config, base + ".navigation.previous", -1, Material.ARROW, ""),
+            item(config, base + ".navigation.next", -1, Material.ARROW, ""),
+            item(config, base + ".navigation.back", -1, Material.ARROW, "")
+        );
+    }
+
+    private static ProgressBar compileProgressBar(Config config) {
+        String base = "voting-gui.progress_bar";
+        return ProgressBar.compile(
+            Math.max(0, config.getInt(base + ".length", 20)),
+            config.getString(base + ".filled_char", "|"),
+            config.getString(base + ".empty_char", "|"),
+            config.getString(base + ".colors.high", "<green>"),
+            config.getString(base + ".colors.medium", "<yellow>"),
+            config.getString(base + ".colors.low", "<gray>")
+        );
+    }
+
+    private static Item item(Config config, String path, int defaultSlot, Material defaultMaterial, String defaultName) {
+        return item(
+            config.getInt(path + ".slot", defaultSlot),
+            parseMaterial(config.getString(path + ".material", defaultMaterial.name()), defaultMaterial),
+            TextTemplate.compile(config.getString(path + ".name", defaultName)),
+            TextTemplate.compile(config.getStringList(path + ".lore")),
+            config.getBoolean(path + ".glow", false)
+        );
+    }
+
+    // Missing name or lore falls back to the given item, so variants only need to list what they change
+    private static Item item(Config config, String path, Item fallback) {
+        String name = config.getString(path + ".name", null);
+        List<String> lore = config.getStringList(path + ".lore");
+        return item(
+            config.getInt(path + ".slot", fallback.slot()),
+            parseMaterial(config.getString(path + ".material", fallback.material().name()), fallback.material()),
+            name != null ? TextTemplate.compile(name) : fallback.name(),
+            lore == null || lore.isEmpty() ? fallback.lore() : TextTemplate.compile(lore),
+            config.getBoolean(path + ".glow", false)
+        );
+    }
+
+    private static Item item(int slot, Material material, TextTemplate name, List<TextTemplate> lore, boolean glow) {
+        List<TextTemplate> voteFreeLore = new ArrayList<>();
+        List<Component> loreComponents = new ArrayList<>();
+        for (TextTemplate line : lore) {
+            if (!line.containsAny(VOTE_PLACEHOLDERS)) {
+                voteFreeLore.add(line);
+            }
+            loreComponents.add(line.render());
+        }
+
+        ItemBuilder builder = ItemBuilder.from(material)
+            .name(name.render())
+            .lore(loreComponents);
+        if (glow) {
+            builder.glow(true);
+        }
+
+        return new Item(slot, material, name, lore, List.copyOf(voteFreeLore), glow, builder.build());
+    }
+
+    private static Decoration decoration(Config config, String path, String defaultMaterial) {
+        return new Decoration(decorationItem(config, path, defaultMaterial), parseSlots(config.getList(path + ".slots", List.of())));
+    }
+
+    private static GuiItem decorationItem(Config config, String path, String defaultMaterial) {
+        Material fallback = Material.valueOf(defaultMaterial);
+        Material material = parseMaterial(config.getString(path + ".material", defaultMaterial), fallback);
+        String name = config.getString(path + ".name", " ");
+        return ItemBuilder.from(material).name(StringUtils.format(name != null ? name : " ")).asGuiItem();
+    }
+
+    private static int[] parseSlots(List<Object> rawSlots) {
+        List<Integer> slots = new ArrayList<>();
+        if (rawSlots == null) {
+            return new int[0];
+        }
+        for (Object entry : rawSlots) {
+            if (entry == null) continue;
+            if (entry instanceof Number number) {
+                slots.add(number.intValue());
+                continue;
+            }
+            String value = entry.toString().trim();
+            if (value.isEmpty()) continue;
+            if (value.contains("-")) {
+                String[] parts = value.split("-", 2);
+                int start = parseSlotNumber(parts[0]);
+                int end = parseSlotNumber(parts[1]);
+                if (start < 0 || end < 0) continue;
+                for (int i = Math.min(start, end); i <= Math.max(start, end); i++) {
+                    slots.add(i);
+                }
+                continue;
+            }
+            int slot = parseSlotNumber(value);
+            if (slot >= 0) slots.add(slot);
+        }
+        return slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int parseSlotNumber(String value) {
+        try { return Integer.parseInt(value.trim()); }
+        catch (NumberFormatException ex) { return -1; }
+    }
+
+    private static Material parseMaterial(String materialName, Material fallback) {
+        if (materialName == null || materialName.isEmpty()) return fallback;
+        try { return Material.valueOf(materialName.toUpperCase(Locale.ROOT)); }
+        catch (IllegalArgumentException ex) { return fallback; }
+    }
+
+    // stack is the item rendered without replacements, for buttons that take none; it is shared, so clone before use
+    public record Item(int slot, Material material, TextTemplate name, List<TextTemplate> lore,
+                       List<TextTemplate> voteFreeLore, boolean glow, ItemStack stack) {
+        public boolean isEnabled() {
+            return slot >= 0;
+        }
+
+        public GuiItem asGuiItem(GuiAction<InventoryClickEvent> action) {
+            return new GuiItem(stack.clone(), action);
+        }
+
+        public List<TextTemplate> lore(boolean showVotes) {
+            return showVotes ? lore : voteFreeLore;
+        }
+    }
+
+    public record Decoration(GuiItem item, int[] slots) {}
+
+    public record Template(Item item, int maxOptions, boolean yesNo) {}
+
+    public record Creation(TextTemplate title, int rows, Decoration decoration, List<Template> templates, Item cancel) {}
+
+    public record PollList(TextTemplate title, int rows, Decoration decoration, Item poll, Item pollVoted, Item noPolls,
+                           Item previous, Item next, Item refresh, Item finished) {}
+
+    public record Voting(TextTemplate title, GuiItem decoration, Item questionInfo, Item option, Item optionVoted,
+                         Material[] optionMaterials, Item back) {
+        public Material optionMaterial(int index) {
+            return optionMaterials[index % optionMaterials.length];
+        }
+    }
+
+    public record Finished(TextTemplate title, int rows, Decoration decoration, Item poll, Item noPolls,
+                           Item previous, Item next, Item back) {}
+
+    // Every (fill, colour) combination rendered up front, so a bar is an array lookup
+    public static final class ProgressBar {
+        private static final int HIGH = 0;
+        private static final int MEDIUM = 1;
+        private static final int LOW = 2;
+
+        private final int length;
+        private final String[][] bars;
+        private final Component[][] components;
+        private final String noVotesBar;
+        private final Component noVotesComponent;
+
+        private ProgressBar(int length, String[][] bars, String noVotesBar) {
+            this.length = length;
+            this.bars = bars;
+            this.noVotesBar = noVotesBar;
+            this.noVotesComponent = StringUtils.format(noVotesBar);
+            this.components = new Component[bars.length][];
+            for (int color = 0; color < bars.length; color++) {
+                components[color] = new Component[bars[color].length];
+                for (int filled = 0; filled < bars[color].length; filled++) {
+                    components[color][filled] = StringUtils.format(bars[color][filled]);
+                }
+            }
+        }
+
+        private static ProgressBar compile(int length, String filledChar, String emptyChar,
+                                           String highColor, String mediumColor, String lowColor) {
+            String[] colors = {highColor, mediumColor, lowColor};
+            String[][] bars = new String[colors.length][length + 1];
+            for (int color = 0; color < colors.length; color++) {
+                for (int filled = 0; filled <= length; filled++) {
+                    bars[color][filled] = ProgressBarUtil.createBar(filled, length, filledChar, emptyChar, colors[color]);
+                }
+            }
+            return new ProgressBar(length, bars, ProgressBarUtil.createBar(0, length, filledChar, emptyChar, "<gray>"));
+        }
+
+        public String bar(int votes, int totalVotes) {
+            if (totalVotes <= 0) {
+                return noVotesBar;
+            }
+            return bars[colorIndex(votes, totalVotes)][fillIndex(votes, totalVotes)];
+        }
+
+        public Component component(int votes, int totalVotes) {
+            if (totalVotes <= 0) {
+                return noVotesComponent;
+            }
+            return components[colorIndex(votes, totalVotes)][fillIndex(votes, totalVotes)];
+        }
+
+        private int fillIndex(int votes, int totalVotes) {
+            int filled = (int) Math.round((double) votes / totalVotes * length);
+            return Math.max(0, Math.min(length, filled));
+        }
+
+        private int colorIndex(int votes, int totalVotes) {
+            double percentage = (double) votes / totalVotes * 100;
+            if (percentage >= 60) {
+                return HIGH;
+            }
+            if (percentage >= 30) {
+                return MEDIUM;
+            }
+            return LOW;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package hu.exteron.ogpoll.config;
+
+import com.artillexstudios.axapi.utils.StringUtils;
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// A message or lore line split once into literal text and {placeholder} slots.
+// Lines without placeholders keep their parsed Component; the rest are filled in a single pass.
+public final class TextTemplate {
+    private static final TextTemplate EMPTY = new TextTemplate("");
+
+    private final String[] literals;
+    private final String[] keys;
+    private final int literalLength;
+    private final Component staticComponent;
+
+    private TextTemplate(String raw) {
+        List<String> literalParts = new ArrayList<>();
+        List<String> keyParts = new ArrayList<>();
+        int start = 0;
+        int open = raw.indexOf('{');
+        while (open >= 0) {
+            int close = raw.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            String key = raw.substring(open + 1, close);
+            if (!isKey(key)) {
+                open = raw.indexOf('{', open + 1);
+                continue;
+            }
+            literalParts.add(raw.substring(start, open));
+            keyParts.add(key);
+            start = close + 1;
+            open = raw.indexOf('{', start);
+        }
+        literalParts.add(raw.substring(start));
+
+        this.literals = literalParts.toArray(new String[0]);
+        this.keys = keyParts.toArray(new String[0]);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.staticComponent = keys.length == 0 ? StringUtils.format(raw) : null;
+    }
+
+    public static TextTemplate compile(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return EMPTY;
+        }
+        return new TextTemplate(raw);
+    }
+
+    public static List<TextTemplate> compile(List<String> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return List.of();
+        }
+        List<TextTemplate> templates = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            templates.add(compile(line));
+        }
+        return List.copyOf(templates);
+    }
+
+    public boolean contains(String key) {
+        for (String candidate : keys) {
+            if (candidate.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsAny(String... candidates) {
+        for (String candidate : candidates) {
+            if (contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Unknown placeholders are left as written, and values are never rescanned for further placeholders
+    public String resolve(Map<String, String> replacements) {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+        if (replacements == null) {
+            replacements = Map.of();
+        }
+        StringBuilder builder = new StringBuilder(literalLength + keys.length * 16);
+        builder.append(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            String value = replacements.get(keys[i]);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(keys[i]).append('}');
+            }
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    public Component render(Map<String, String> replacements) {
+        if (staticComponent != null) {
+            return staticComponent;
+        }
+        return StringUtils.format(resolve(replacements));
+    }
+
+    public Component render() {
+        return render(Map.of());
+    }
+
+    private static boolean isKey(String key) {
+        if (key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
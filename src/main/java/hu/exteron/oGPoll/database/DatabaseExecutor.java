@@ -0,0 +1,197 @@
+package hu.exteron.ogpoll.database;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Runs database work on virtual threads, one task per pooled connection, with writes served before reads
+public final class DatabaseExecutor {
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("ogpoll-db-", 0).factory()
+    );
+    private final int connections;
+    private final int reservedWrites;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writeFree = lock.newCondition();
+    private final Condition readFree = lock.newCondition();
+    private int busy = 0;
+    private int busyReads = 0;
+    private int waitingWrites = 0;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicLong longestWriteWaitNanos = new AtomicLong();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean closed = false;
+
+    public DatabaseExecutor(int connections, int reservedWrites, int capacity) {
+        this.connections = Math.max(1, connections);
+        this.reservedWrites = Math.max(0, Math.min(reservedWrites, this.connections - 1));
+        this.capacity = Math.max(4, capacity);
+    }
+
+    public Executor executor(Priority priority) {
+        return task -> execute(priority, task);
+    }
+
+    public void execute(Priority priority, Runnable task) {
+        int limit = switch (priority) {
+            case WRITE -> capacity;
+            case READ -> capacity * 3 / 4;
+            case BACKGROUND -> capacity / 2;
+        };
+        int depth;
+        do {
+            depth = queued.get();
+            if (closed || depth >= limit) {
+                (priority == Priority.BACKGROUND ? shed : rejected).increment();
+                throw new RejectedExecutionException("Database queue is full (" + depth + " waiting)");
+            }
+        } while (!queued.compareAndSet(depth, depth + 1));
+        peakQueued.accumulateAndGet(depth + 1, Math::max);
+
+        try {
+            threads.execute(() -> run(priority, task));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    private void run(Priority priority, Runnable task) {
+        boolean write = priority == Priority.WRITE;
+        long queuedAt = System.nanoTime();
+        acquire(write);
+        queued.decrementAndGet();
+        if (write) {
+            longestWriteWaitNanos.accumulateAndGet(System.nanoTime() - queuedAt, Math::max);
+        }
+        try {
+            task.run();
+        } finally {
+            release(write);
+            completed.increment();
+        }
+    }
+
+    // Wakes one waiter per change, so a flood of parked reads is not woken for every free connection
+    private void acquire(boolean write) {
+        lock.lock();
+        try {
+            if (write) {
+                waitingWrites++;
+                try {
+                    while (busy >= connections) {
+                        writeFree.awaitUninterruptibly();
+                    }
+                } finally {
+                    waitingWrites--;
+                }
+            } else {
+                while (!canRead()) {
+                    readFree.awaitUninterruptibly();
+                }
+                busyReads++;
+            }
+            busy++;
+            if (canRead()) {
+                readFree.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(boolean write) {
+        lock.lock();
+        try {
+            busy--;
+            if (!write) {
+                busyReads--;
+            }
+            if (waitingWrites > 0) {
+                writeFree.signal();
+            } else if (canRead()) {
+                readFree.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canRead() {
+        return waitingWrites == 0 && busy < connections && busyReads < connections - reservedWrites;
+    }
+
+    // Lets queued work finish, so futures handed out before shutdown still complete
+    public void shutdown() {
+        closed = true;
+        threads.shutdown();
+        try {
+            threads.awaitTermination(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Snapshot snapshot() {
+        int active;
+        int activeReads;
+        int writesWaiting;
+        lock.lock();
+        try {
+            active = busy;
+            activeReads = busyReads;
+            writesWaiting = waitingWrites;
+        } finally {
+            lock.unlock();
+        }
+        return new Snapshot(
+            queued.get(),
+            peakQueued.get(),
+            capacity,
+            active,
+            activeReads,
+            writesWaiting,
+            connections,
+            reservedWrites,
+            TimeUnit.NANOSECONDS.toMillis(longestWriteWaitNanos.get()),
+            completed.sum(),
+            shed.sum(),
+            rejected.sum()
+        );
+    }
+
+    public enum Priority {
+        // Votes, poll creation, closes and deletes
+        WRITE,
+        READ,
+        // Reads nobody is waiting on directly, such as menu refreshes and page prefetches
+        BACKGROUND
+    }
+
+    public record Snapshot(
+        int queued,
+        int peakQueued,
+        int capacity,
+        int active,
+        int activeReads,
+        int waitingWrites,
+        int connections,
+        int reservedWrites,
+        long longestWriteWaitMillis,
+        long completed,
+        long shed,
+        long rejected
+    ) {}
+}
@@ -10,7 +10,8 @@ import hu.exteron.ogpoll.OGPoll;
 import hu.exteron.ogpoll.config.ConfigManager;
 import hu.exteron.ogpoll.models.Poll;
 import hu.exteron.ogpoll.models.PollOption;
-import hu.exteron.ogpoll.models.Vote;
+import hu.exteron.ogpoll.models.PollView;
+import hu.exteron.ogpoll.models.VoteTally;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -20,18 +21,84 @@ import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
 public class DatabaseManager {
+    private static final String ACTIVE_POLLS = "active";
+
+    static final String CREATE_POLLS = """
+        CREATE TABLE IF NOT EXISTS polls (
+            id INTEGER PRIMARY KEY AUTO_INCREMENT,
+            question VARCHAR(255) NOT NULL,
+            creator_uuid VARCHAR(36) NOT NULL,
+            creator_name VARCHAR(32) DEFAULT NULL,
+            created_at BIGINT NOT NULL,
+            expires_at BIGINT NOT NULL,
+            active BOOLEAN DEFAULT TRUE,
+            closed_at BIGINT DEFAULT NULL,
+            max_votes INTEGER DEFAULT 0
+        )
+        """;
+
+    static final String CREATE_POLL_OPTIONS = """
+        CREATE TABLE IF NOT EXISTS poll_options (
+            id INTEGER PRIMARY KEY AUTO_INCREMENT,
+            poll_id INTEGER NOT NULL,
+            option_text VARCHAR(100) NOT NULL,
+            display_order INTEGER NOT NULL,
+            vote_count INTEGER DEFAULT 0 NOT NULL,
+            FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
+        )
+        """;
+
+    static final String CREATE_VOTES = """
+        CREATE TABLE IF NOT EXISTS votes (
+            id INTEGER PRIMARY KEY AUTO_INCREMENT,
+            poll_id INTEGER NOT NULL,
+            option_id INTEGER NOT NULL,
+            player_uuid VARCHAR(36) NOT NULL,
+            voted_at BIGINT NOT NULL,
+            FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE,
+            FOREIGN KEY (option_id) REFERENCES poll_options(id) ON DELETE CASCADE,
+            UNIQUE (poll_id, player_uuid)
+        )
+        """;
+
+    private static final String ACTIVE_POLLS_QUERY = """
+        SELECT p.*, o.id AS option_id, o.option_text, o.display_order, o.vote_count
+        FROM polls p
+        LEFT JOIN poll_options o ON o.poll_id = p.id
+        WHERE p.active = TRUE
+        ORDER BY p.created_at DESC, p.id, o.display_order ASC
+        """;
+
+    // votes is unique on (poll_id, player_uuid), so joining it never multiplies the option rows
+    private static final String POLL_VIEW_QUERY = """
+        SELECT p.*, o.id AS option_id, o.option_text, o.display_order, o.vote_count,
+               v.option_id AS voted_option_id
+        FROM polls p
+        LEFT JOIN poll_options o ON o.poll_id = p.id
+        LEFT JOIN votes v ON v.poll_id = p.id AND v.player_uuid = ?
+        WHERE p.id = ?
+        ORDER BY o.display_order ASC
+        """;
+
     private final OGPoll plugin;
     private final ConfigManager configManager;
     private DatabaseHandler handler;
-    private volatile boolean ready = false;
+    private VoteBuffer voteBuffer;
+    private final DatabaseExecutor executor;
+    private final SingleFlight<String, List<Poll>> activePolls;
+    private final SingleFlight<Integer, VoteTally> tallies;
+    private CompletableFuture<Void> setup;
 
     public DatabaseManager(OGPoll plugin, ConfigManager configManager) {
         this.plugin = plugin;
@@ -59,23 +126,50 @@ public class DatabaseManager {
         databaseConfig.pool.connectionTimeout = Math.toIntExact(configManager.getDatabasePoolConnectionTimeout());
 
         handler = new DatabaseHandler(plugin, databaseConfig);
-        
-        Scheduler.get().runAsync(() -> {
-            try {
-                initializeTables();
-                ready = true;
-                plugin.getLogger().info("Database tables initialized successfully!");
-            } catch (Exception e) {
-                plugin.getLogger().severe("Failed to initialize database tables: " + e.getMessage());
-            }
+        executor = new DatabaseExecutor(
+            configManager.getDatabasePoolMaximumPoolSize(),
+            configManager.getDatabaseReservedWriteConnections(),
+            configManager.getDatabaseQueueCapacity()
+        );
+        activePolls = new SingleFlight<>(configManager.getDatabaseCoalesceFreshnessMillis());
+        tallies = new SingleFlight<>(configManager.getDatabaseCoalesceFreshnessMillis());
+        voteBuffer = new VoteBuffer(
+            plugin,
+            handler,
+            executor,
+            tallies::invalidate,
+            configManager.getVoteBufferFlushIntervalMillis(),
+            configManager.getVoteBufferMaxBatchSize()
+        );
+
+        setup = initialize();
+    }
+
+    private CompletableFuture<Void> initialize() {
+        return supply("Failed to initialize database tables", DatabaseExecutor.Priority.WRITE, () -> {
+            initializeTables();
+            plugin.getLogger().info("Database tables initialized successfully!");
+            return null;
         });
     }
 
     public boolean isReady() {
-        return ready;
+        return setup.isDone() && !setup.isCompletedExceptionally();
+    }
+
+    // Completes once the tables exist and are migrated; a failed setup is started again on the next call
+    public synchronized CompletableFuture<Void> whenReady() {
+        if (setup.isCompletedExceptionally()) {
+            setup = initialize();
+        }
+        return setup;
     }
 
     public void shutdown() {
+        if (voteBuffer != null) {
+            voteBuffer.shutdown();
+        }
+        executor.shutdown();
         if (handler != null) {
             handler.close();
         }
@@ -85,230 +179,419 @@ public class DatabaseManager {
         return handler;
     }
 
-    public void createPoll(Poll poll, Consumer<Integer> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            String sql = """
-                INSERT INTO polls (question, creator_uuid, creator_name, created_at, expires_at, active, closed_at, max_votes)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-                """;
-            try (Connection connection = handler.connection();
-                 PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                statement.setString(1, poll.getQuestion());
-                statement.setString(2, poll.getCreatorUuid().toString());
-                statement.setString(3, poll.getCreatorName());
-                statement.setLong(4, poll.getCreatedAt());
-                statement.setLong(5, poll.getExpiresAt());
-                statement.setBoolean(6, poll.isActive());
-                if (poll.getClosedAt() == null) {
-                    statement.setNull(7, Types.BIGINT);
-                } else {
-                    statement.setLong(7, poll.getClosedAt());
-                }
-                statement.setInt(8, poll.getMaxVotes());
-                statement.executeUpdate();
-                try (ResultSet keys = statement.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        int id = keys.getInt(1);
-                        Scheduler.get().run(() -> onSuccess.accept(id));
-                        return;
+    public VoteBuffer getVoteBuffer() {
+        return voteBuffer;
+    }
+
+    public DatabaseExecutor.Snapshot getExecutorStats() {
+        return executor.snapshot();
+    }
+
+    public SingleFlight.Stats getCoalescingStats() {
+        return activePolls.stats().plus(tallies.stats());
+    }
+
+    // Completes with null when the active poll limit is already reached
+    public CompletableFuture<Poll> createPoll(Poll poll, int maxActivePolls) {
+        return supply("Failed to create poll", DatabaseExecutor.Priority.WRITE, () -> {
+            try (Connection connection = handler.connection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    Integer id = insertPoll(connection, poll, maxActivePolls);
+                    if (id == null) {
+                        connection.rollback();
+                        return null;
                     }
+                    poll.setId(id);
+                    insertOptions(connection, poll);
+                    connection.commit();
+                    activePolls.invalidate(ACTIVE_POLLS);
+                    return poll;
+                } catch (Exception e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
                 }
-                throw new IllegalStateException("Failed to retrieve generated poll ID");
-            } catch (Exception e) {
-                handleError("Failed to create poll", e, onError);
             }
         });
     }
 
-    public void addOption(PollOption option, Runnable onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                handler.rawQuery(
-                    "INSERT INTO poll_options (poll_id, option_text, display_order) VALUES (?, ?, ?)"
-                ).create().update(option.getPollId(), option.getOptionText(), option.getDisplayOrder());
-                Scheduler.get().run(onSuccess);
-            } catch (Exception e) {
-                handleError("Failed to add poll option", e, onError);
+    // The limit check is part of the insert, so two creators can't both take the last slot; null when it is reached
+    private Integer insertPoll(Connection connection, Poll poll, int maxActivePolls) throws java.sql.SQLException {
+        String sql = """
+            INSERT INTO polls (question, creator_uuid, creator_name, created_at, expires_at, active, closed_at, max_votes)
+            SELECT CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(36)), CAST(? AS VARCHAR(32)), CAST(? AS BIGINT),
+                   CAST(? AS BIGINT), CAST(? AS BOOLEAN), CAST(? AS BIGINT), CAST(? AS INTEGER)
+            WHERE (SELECT COUNT(*) FROM polls WHERE active = TRUE) < ?
+            """;
+        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, poll.getQuestion());
+            statement.setString(2, poll.getCreatorUuid().toString());
+            statement.setString(3, poll.getCreatorName());
+            statement.setLong(4, poll.getCreatedAt());
+            statement.setLong(5, poll.getExpiresAt());
+            statement.setBoolean(6, poll.isActive());
+            if (poll.getClosedAt() == null) {
+                statement.setNull(7, Types.BIGINT);
+            } else {
+                statement.setLong(7, poll.getClosedAt());
             }
-        });
+            statement.setInt(8, poll.getMaxVotes());
+            statement.setInt(9, maxActivePolls);
+            if (statement.executeUpdate() == 0) {
+                return null;
+            }
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    return keys.getInt(1);
+                }
+            }
+        }
+        throw new IllegalStateException("Failed to retrieve generated poll ID");
     }
 
-    public void getActivePolls(Consumer<List<Poll>> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                List<Poll> polls = handler.rawQuery(
-                    "SELECT * FROM polls WHERE active = TRUE ORDER BY created_at DESC",
-                    pollListHandler()
-                ).create().query();
-                attachOptions(polls, completed -> Scheduler.get().run(() -> onSuccess.accept(completed)), onError);
-            } catch (Exception e) {
-                handleError("Failed to fetch active polls", e, onError);
+    private void insertOptions(Connection connection, Poll poll) throws java.sql.SQLException {
+        List<PollOption> options = poll.getOptions();
+        if (options.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+            "INSERT INTO poll_options (poll_id, option_text, display_order) VALUES (?, ?, ?)",
+            Statement.RETURN_GENERATED_KEYS
+        )) {
+            for (PollOption option : options) {
+                option.setPollId(poll.getId());
+                statement.setInt(1, poll.getId());
+                statement.setString(2, option.getOptionText());
+                statement.setInt(3, option.getDisplayOrder());
+                statement.addBatch();
             }
-        });
+            statement.executeBatch();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (PollOption option : options) {
+                    if (!keys.next()) {
+                        throw new IllegalStateException("Failed to retrieve generated option IDs");
+                    }
+                    option.setId(keys.getInt(1));
+                }
+            }
+        }
     }
 
-    public void getAllPolls(Consumer<List<Poll>> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                List<Poll> polls = handler.rawQuery(
-                    "SELECT * FROM polls ORDER BY created_at DESC",
-                    pollListHandler()
-                ).create().query();
-                Scheduler.get().run(() -> onSuccess.accept(polls));
-            } catch (Exception e) {
-                handleError("Failed to fetch all polls", e, onError);
+    public CompletableFuture<List<Poll>> getActivePolls() {
+        return activePolls.get(ACTIVE_POLLS, () -> supply("Failed to fetch active polls", () -> {
+            try (Connection connection = handler.connection()) {
+                return List.copyOf(queryActivePolls(connection));
+            }
+        }));
+    }
+
+    // Every active poll with its options in one statement
+    static List<Poll> queryActivePolls(Connection connection) throws java.sql.SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(ACTIVE_POLLS_QUERY);
+             ResultSet resultSet = statement.executeQuery()) {
+            return mapPollsWithOptions(resultSet);
+        }
+    }
+
+    public CompletableFuture<Integer> countPolls() {
+        return count("SELECT COUNT(*) FROM polls", "Failed to count polls");
+    }
+
+    public CompletableFuture<Integer> countFinishedPolls() {
+        return count("SELECT COUNT(*) FROM polls WHERE active = FALSE", "Failed to count finished polls");
+    }
+
+    private CompletableFuture<Integer> count(String sql, String errorMessage) {
+        return supply(errorMessage, () -> {
+            try (Connection connection = handler.connection();
+                 PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
             }
         });
     }
 
-    public void getFinishedPolls(Consumer<List<Poll>> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                List<Poll> polls = handler.rawQuery(
-                    "SELECT * FROM polls WHERE active = FALSE ORDER BY closed_at DESC",
+    // Newest first by (created_at, id). With a cursor the page is a seek on idx_polls_created;
+    // without one (first page or a jump to an arbitrary page) it falls back to OFFSET.
+    public CompletableFuture<List<Poll>> getPolls(PollCursor after, int offset, int limit) {
+        return supply("Failed to fetch polls", () -> {
+            return after != null
+                ? handler.rawQuery("""
+                    SELECT * FROM polls
+                    WHERE (created_at, id) < (?, ?)
+                    ORDER BY created_at DESC, id DESC
+                    LIMIT ?
+                    """,
                     pollListHandler()
-                ).create().query();
-                attachOptions(polls, completed -> Scheduler.get().run(() -> onSuccess.accept(completed)), onError);
-            } catch (Exception e) {
-                handleError("Failed to fetch finished polls", e, onError);
-            }
+                ).create().query(after.sortKey(), after.id(), limit)
+                : handler.rawQuery(
+                    "SELECT * FROM polls ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?",
+                    pollListHandler()
+                ).create().query(limit, offset);
         });
     }
 
-    public void getPollById(int id, Consumer<Poll> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                Poll poll = handler.rawQuery(
-                    "SELECT * FROM polls WHERE id = ?",
-                    pollSingleHandler()
-                ).create().query(id);
-                if (poll == null) {
-                    Scheduler.get().run(() -> onSuccess.accept(null));
-                    return;
-                }
-                getOptions(poll.getId(), options -> {
-                    poll.setOptions(options);
-                    Scheduler.get().run(() -> onSuccess.accept(poll));
-                }, onError);
-            } catch (Exception e) {
-                handleError("Failed to fetch poll", e, onError);
-            }
+    // Most recently closed first by (closed_at, id), seeking on idx_polls_closed when a cursor is given.
+    // The page of polls is limited before their options are joined, so a page costs the same however long the history is.
+    public CompletableFuture<List<Poll>> getFinishedPolls(PollCursor after, int offset, int limit) {
+        return getFinishedPolls(after, offset, limit, DatabaseExecutor.Priority.READ);
+    }
+
+    public CompletableFuture<List<Poll>> getFinishedPolls(
+        PollCursor after,
+        int offset,
+        int limit,
+        DatabaseExecutor.Priority priority
+    ) {
+        return supply("Failed to fetch finished polls", priority, () -> {
+            return after != null
+                ? handler.rawQuery("""
+                    SELECT p.*, o.id AS option_id, o.option_text, o.display_order, o.vote_count
+                    FROM (
+                        SELECT * FROM polls
+                        WHERE active = FALSE AND (closed_at, id) < (?, ?)
+                        ORDER BY closed_at DESC, id DESC
+                        LIMIT ?
+                    ) p
+                    LEFT JOIN poll_options o ON o.poll_id = p.id
+                    ORDER BY p.closed_at DESC, p.id DESC, o.display_order ASC
+                    """,
+                    pollWithOptionsListHandler()
+                ).create().query(after.sortKey(), after.id(), limit)
+                : handler.rawQuery("""
+                    SELECT p.*, o.id AS option_id, o.option_text, o.display_order, o.vote_count
+                    FROM (
+                        SELECT * FROM polls
+                        WHERE active = FALSE
+                        ORDER BY closed_at DESC, id DESC
+                        LIMIT ? OFFSET ?
+                    ) p
+                    LEFT JOIN poll_options o ON o.poll_id = p.id
+                    ORDER BY p.closed_at DESC, p.id DESC, o.display_order ASC
+                    """,
+                    pollWithOptionsListHandler()
+                ).create().query(limit, offset);
         });
     }
 
-    public void hasVoted(int pollId, UUID playerUuid, Consumer<Boolean> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                boolean exists = handler.rawQuery(
-                    "SELECT 1 FROM votes WHERE poll_id = ? AND player_uuid = ?",
-                    existsHandler()
-                ).create().query(pollId, playerUuid.toString());
-                Scheduler.get().run(() -> onSuccess.accept(exists));
-            } catch (Exception e) {
-                handleError("Failed to check vote status", e, onError);
-            }
+    public CompletableFuture<Poll> getPollById(int id) {
+        return supply("Failed to fetch poll", () -> {
+            List<Poll> polls = handler.rawQuery("""
+                SELECT p.*, o.id AS option_id, o.option_text, o.display_order, o.vote_count
+                FROM polls p
+                LEFT JOIN poll_options o ON o.poll_id = p.id
+                WHERE p.id = ?
+                ORDER BY o.display_order ASC
+                """,
+                pollWithOptionsListHandler()
+            ).create().query(id);
+            return polls.isEmpty() ? null : polls.get(0);
         });
     }
 
-    public void getPlayerVote(int pollId, UUID playerUuid, Consumer<Integer> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                Integer optionId = handler.rawQuery(
-                    "SELECT option_id FROM votes WHERE poll_id = ? AND player_uuid = ?",
-                    playerVoteHandler()
-                ).create().query(pollId, playerUuid.toString());
-                Scheduler.get().run(() -> onSuccess.accept(optionId));
-            } catch (Exception e) {
-                handleError("Failed to get player vote", e, onError);
+    // The poll, its options with their vote counts and the player's own vote, from one statement
+    public CompletableFuture<PollView> getPollView(int pollId, UUID playerUuid) {
+        return supply("Failed to fetch poll", () -> {
+            try (Connection connection = handler.connection()) {
+                return queryPollView(connection, pollId, playerUuid);
             }
         });
     }
 
-    private ResultHandler<Integer> playerVoteHandler() {
+    static PollView queryPollView(Connection connection, int pollId, UUID playerUuid) throws java.sql.SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(POLL_VIEW_QUERY)) {
+            statement.setString(1, playerUuid.toString());
+            statement.setInt(2, pollId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return mapPollView(resultSet);
+            }
+        }
+    }
+
+    public CompletableFuture<Map<Integer, Integer>> loadActiveVotes(UUID playerUuid) {
+        return whenReady().thenCompose(ready -> supply("Failed to load player votes", () -> {
+            return handler.rawQuery(
+                "SELECT v.poll_id, v.option_id FROM votes v JOIN polls p ON p.id = v.poll_id"
+                    + " WHERE v.player_uuid = ? AND p.active = TRUE",
+                playerVotesHandler()
+            ).create().query(playerUuid.toString());
+        }));
+    }
+
+    private ResultHandler<Map<Integer, Integer>> playerVotesHandler() {
         return new ResultHandler<>() {
             @Override
-            public Integer handle(ResultSet resultSet) throws java.sql.SQLException {
+            public Map<Integer, Integer> handle(ResultSet resultSet) throws java.sql.SQLException {
                 return handle(resultSet, true);
             }
 
             @Override
-            public Integer handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
-                if (resultSet.next()) {
-                    return resultSet.getInt("option_id");
+            public Map<Integer, Integer> handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
+                Map<Integer, Integer> votes = new HashMap<>();
+                while (resultSet.next()) {
+                    votes.put(resultSet.getInt("poll_id"), resultSet.getInt("option_id"));
                 }
-                return null;
+                return votes;
             }
         };
     }
 
-    public void recordVote(Vote vote, Runnable onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                handler.rawQuery(
-                    "INSERT INTO votes (poll_id, option_id, player_uuid, voted_at) VALUES (?, ?, ?, ?)"
-                ).create().update(vote.getPollId(), vote.getOptionId(), vote.getPlayerUuid().toString(),
-                    vote.getVotedAt());
-                Scheduler.get().run(onSuccess);
-            } catch (Exception e) {
-                handleError("Failed to record vote", e, onError);
+    public CompletableFuture<VoteTally> getTally(int pollId) {
+        return getTally(pollId, DatabaseExecutor.Priority.READ);
+    }
+
+    // A flight started as background work is shared with normal callers that join it; shedding happens
+    // before the query is queued, so a joined flight is never dropped afterwards
+    public CompletableFuture<VoteTally> getTally(int pollId, DatabaseExecutor.Priority priority) {
+        return tallies.get(pollId, () -> supply("Failed to fetch vote counts", priority, () -> {
+            return handler.rawQuery(
+                "SELECT display_order, vote_count FROM poll_options WHERE poll_id = ?",
+                tallyHandler()
+            ).create().query(pollId);
+        }));
+    }
+
+    // Completes with the number of votes counted, or null when the poll has no options left (deleted meanwhile).
+    // onRecounted gets the new tally on the main thread, queued behind the callbacks of every vote it includes.
+    public CompletableFuture<Integer> recountVotes(int pollId, Consumer<VoteTally> onRecounted) {
+        return supply("Failed to recount votes", DatabaseExecutor.Priority.WRITE, () -> {
+            // Holding off vote flushes keeps increments from landing between the scan and the rewrite
+            voteBuffer.lockFlushes();
+            try (Connection connection = handler.connection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    Map<Integer, Integer> counts = new HashMap<>();
+                    int total = 0;
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT option_id FROM votes WHERE poll_id = ?"
+                    )) {
+                        statement.setFetchSize(1000);
+                        statement.setInt(1, pollId);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                counts.merge(resultSet.getInt(1), 1, Integer::sum);
+                                total++;
+                            }
+                        }
+                    }
+
+                    int options;
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE poll_options SET vote_count = 0 WHERE poll_id = ?"
+                    )) {
+                        statement.setInt(1, pollId);
+                        options = statement.executeUpdate();
+                    }
+                    if (options == 0) {
+                        connection.rollback();
+                        return null;
+                    }
+
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE poll_options SET vote_count = ? WHERE id = ? AND poll_id = ?"
+                    )) {
+                        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+                            statement.setInt(1, entry.getValue());
+                            statement.setInt(2, entry.getKey());
+                            statement.setInt(3, pollId);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+
+                    VoteTally tally;
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT display_order, vote_count FROM poll_options WHERE poll_id = ?"
+                    )) {
+                        statement.setInt(1, pollId);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            tally = tallyHandler().handle(resultSet);
+                        }
+                    }
+                    connection.commit();
+                    tallies.invalidate(pollId);
+                    Scheduler.get().run(() -> onRecounted.accept(tally));
+                    return total;
+                } catch (Exception e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } finally {
+                voteBuffer.unlockFlushes();
             }
         });
     }
 
-    public void getVoteCounts(int pollId, Consumer<Map<Integer, Integer>> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                Map<Integer, Integer> counts = handler.rawQuery(
-                    "SELECT option_id, COUNT(*) AS votes FROM votes WHERE poll_id = ? GROUP BY option_id",
-                    voteCountHandler()
-                ).create().query(pollId);
-                Scheduler.get().run(() -> onSuccess.accept(counts));
-            } catch (Exception e) {
-                handleError("Failed to fetch vote counts", e, onError);
-            }
+    public CompletableFuture<Void> closePoll(int pollId) {
+        return supply("Failed to close poll", DatabaseExecutor.Priority.WRITE, () -> {
+            handler.rawQuery(
+                "UPDATE polls SET active = FALSE, closed_at = ? WHERE id = ?"
+            ).create().update(System.currentTimeMillis(), pollId);
+            activePolls.invalidate(ACTIVE_POLLS);
+            return null;
         });
     }
 
-    public void closePoll(int pollId, Runnable onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                handler.rawQuery(
-                    "UPDATE polls SET active = FALSE, closed_at = ? WHERE id = ?"
-                ).create().update(System.currentTimeMillis(), pollId);
-                Scheduler.get().run(onSuccess);
-            } catch (Exception e) {
-                handleError("Failed to close poll", e, onError);
+    public CompletableFuture<List<Poll>> closeExpiredPolls(long now) {
+        return supply("Failed to close expired polls", DatabaseExecutor.Priority.WRITE, () -> {
+            try (Connection connection = handler.connection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    List<Poll> closed = new ArrayList<>();
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT * FROM polls WHERE active = TRUE AND expires_at <= ? ORDER BY expires_at ASC"
+                    )) {
+                        statement.setLong(1, now);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                closed.add(mapPoll(resultSet));
+                            }
+                        }
+                    }
+
+                    if (!closed.isEmpty()) {
+                        try (PreparedStatement statement = connection.prepareStatement(
+                            "UPDATE polls SET active = FALSE, closed_at = expires_at WHERE active = TRUE AND expires_at <= ?"
+                        )) {
+                            statement.setLong(1, now);
+                            statement.executeUpdate();
+                        }
+                    }
+                    connection.commit();
+                    if (!closed.isEmpty()) {
+                        activePolls.invalidate(ACTIVE_POLLS);
+                    }
+                    return closed;
+                } catch (Exception e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
             }
         });
     }
 
-    public void deletePoll(int pollId, Runnable onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                handler.rawQuery(
-                    "DELETE FROM polls WHERE id = ?"
-                ).create().update(pollId);
-                Scheduler.get().run(onSuccess);
-            } catch (Exception e) {
-                handleError("Failed to delete poll", e, onError);
-            }
+    public CompletableFuture<Void> deletePoll(int pollId) {
+        return supply("Failed to delete poll", DatabaseExecutor.Priority.WRITE, () -> {
+            handler.rawQuery(
+                "DELETE FROM polls WHERE id = ?"
+            ).create().update(pollId);
+            activePolls.invalidate(ACTIVE_POLLS);
+            tallies.invalidate(pollId);
+            return null;
         });
     }
 
     private void initializeTables() {
-        handler.rawQuery("""
-            CREATE TABLE IF NOT EXISTS polls (
-                id INTEGER PRIMARY KEY AUTO_INCREMENT,
-                question VARCHAR(255) NOT NULL,
-                creator_uuid VARCHAR(36) NOT NULL,
-                creator_name VARCHAR(32) DEFAULT NULL,
-                created_at BIGINT NOT NULL,
-                expires_at BIGINT NOT NULL,
-                active BOOLEAN DEFAULT TRUE,
-                closed_at BIGINT DEFAULT NULL,
-                max_votes INTEGER DEFAULT 0
-            )
-            """).execute();
+        handler.rawQuery(CREATE_POLLS).execute();
 
         // No, this not supposed to happen, but it did :shrug:
         ensureColumnExists("polls", "max_votes",
@@ -317,49 +600,49 @@ public class DatabaseManager {
         ensureColumnExists("polls", "creator_name",
             "ALTER TABLE polls ADD COLUMN creator_name VARCHAR(32) DEFAULT NULL");
 
-        handler.rawQuery("""
-            CREATE TABLE IF NOT EXISTS poll_options (
-                id INTEGER PRIMARY KEY AUTO_INCREMENT,
-                poll_id INTEGER NOT NULL,
-                option_text VARCHAR(100) NOT NULL,
-                display_order INTEGER NOT NULL,
-                FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
-            )
-            """).execute();
-
-        handler.rawQuery("""
-            CREATE TABLE IF NOT EXISTS votes (
-                id INTEGER PRIMARY KEY AUTO_INCREMENT,
-                poll_id INTEGER NOT NULL,
-                option_id INTEGER NOT NULL,
-                player_uuid VARCHAR(36) NOT NULL,
-                voted_at BIGINT NOT NULL,
-                FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE,
-                FOREIGN KEY (option_id) REFERENCES poll_options(id) ON DELETE CASCADE,
-                UNIQUE (poll_id, player_uuid)
-            )
-            """).execute();
+        handler.rawQuery(CREATE_POLL_OPTIONS).execute();
+
+        handler.rawQuery(CREATE_VOTES).execute();
+
+        boolean tallyAdded = ensureColumnExists("poll_options", "vote_count",
+            "ALTER TABLE poll_options ADD COLUMN vote_count INTEGER DEFAULT 0 NOT NULL");
+        if (tallyAdded) {
+            handler.rawQuery("""
+                UPDATE poll_options SET vote_count = (
+                    SELECT COUNT(*) FROM votes WHERE votes.option_id = poll_options.id
+                )
+                """).execute();
+        }
+
+        // The history pages seek on (closed_at, id), which needs every closed poll to have a closed_at
+        handler.rawQuery(
+            "UPDATE polls SET closed_at = expires_at WHERE active = FALSE AND closed_at IS NULL"
+        ).execute();
 
         handler.rawQuery("CREATE INDEX IF NOT EXISTS idx_polls_active ON polls(active)").execute();
+        handler.rawQuery("CREATE INDEX IF NOT EXISTS idx_polls_closed ON polls(active, closed_at DESC, id DESC)").execute();
+        handler.rawQuery("CREATE INDEX IF NOT EXISTS idx_polls_created ON polls(created_at DESC, id DESC)").execute();
         handler.rawQuery("CREATE INDEX IF NOT EXISTS idx_polls_expires ON polls(expires_at)").execute();
         handler.rawQuery("CREATE INDEX IF NOT EXISTS idx_votes_poll ON votes(poll_id)").execute();
         handler.rawQuery("CREATE INDEX IF NOT EXISTS idx_votes_player ON votes(player_uuid)").execute();
     }
 
-    private void ensureColumnExists(String tableName, String columnName, String ddl) {
+    private boolean ensureColumnExists(String tableName, String columnName, String ddl) {
         try (Connection connection = handler.connection()) {
             DatabaseMetaData meta = connection.getMetaData();
             if (columnExists(meta, tableName, columnName)) {
-                return;
+                return false;
             }
         } catch (Exception ignored) {
-            return;
+            return false;
         }
 
         try {
             handler.rawQuery(ddl).execute();
+            return true;
         } catch (Exception ignored) {
             // Ignore if the column already exists
+            return false;
         }
     }
 
@@ -374,41 +657,6 @@ public class DatabaseManager {
         }
     }
 
-    private void attachOptions(
-        List<Poll> polls,
-        Consumer<List<Poll>> onSuccess,
-        Consumer<Throwable> onError
-    ) {
-        if (polls.isEmpty()) {
-            onSuccess.accept(polls);
-            return;
-        }
-        int total = polls.size();
-        AtomicInteger remaining = new AtomicInteger(total);
-        for (Poll poll : polls) {
-            getOptions(poll.getId(), options -> {
-                poll.setOptions(options);
-                if (remaining.decrementAndGet() <= 0) {
-                    onSuccess.accept(polls);
-                }
-            }, onError);
-        }
-    }
-
-    public void getOptions(int pollId, Consumer<List<PollOption>> onSuccess, Consumer<Throwable> onError) {
-        Scheduler.get().runAsync(() -> {
-            try {
-                List<PollOption> options = handler.rawQuery(
-                    "SELECT * FROM poll_options WHERE poll_id = ? ORDER BY display_order ASC",
-                    pollOptionListHandler()
-                ).create().query(pollId);
-                Scheduler.get().run(() -> onSuccess.accept(options));
-            } catch (Exception e) {
-                handleError("Failed to fetch poll options", e, onError);
-            }
-        });
-    }
-
     private ResultHandler<List<Poll>> pollListHandler() {
         return new ResultHandler<>() {
             @Override
@@ -427,79 +675,92 @@ public class DatabaseManager {
         };
     }
 
-    private ResultHandler<Poll> pollSingleHandler() {
+    private ResultHandler<List<Poll>> pollWithOptionsListHandler() {
         return new ResultHandler<>() {
             @Override
-            public Poll handle(ResultSet resultSet) throws java.sql.SQLException {
+            public List<Poll> handle(ResultSet resultSet) throws java.sql.SQLException {
                 return handle(resultSet, true);
             }
 
             @Override
-            public Poll handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
-                if (resultSet.next()) {
-                    return mapPoll(resultSet);
-                }
-                return null;
+            public List<Poll> handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
+                return mapPollsWithOptions(resultSet);
             }
         };
     }
 
-    private ResultHandler<List<PollOption>> pollOptionListHandler() {
-        return new ResultHandler<>() {
-            @Override
-            public List<PollOption> handle(ResultSet resultSet) throws java.sql.SQLException {
-                return handle(resultSet, true);
+    // One row per option from polls LEFT JOIN poll_options, rows grouped by poll
+    static List<Poll> mapPollsWithOptions(ResultSet resultSet) throws java.sql.SQLException {
+        Map<Integer, Poll> polls = new LinkedHashMap<>();
+        while (resultSet.next()) {
+            int pollId = resultSet.getInt("id");
+            Poll poll = polls.get(pollId);
+            if (poll == null) {
+                poll = mapPoll(resultSet);
+                polls.put(pollId, poll);
             }
-
-            @Override
-            public List<PollOption> handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
-                List<PollOption> options = new ArrayList<>();
-                while (resultSet.next()) {
-                    PollOption option = new PollOption();
-                    option.setId(resultSet.getInt("id"));
-                    option.setPollId(resultSet.getInt("poll_id"));
-                    option.setOptionText(resultSet.getString("option_text"));
-                    option.setDisplayOrder(resultSet.getInt("display_order"));
-                    options.add(option);
-                }
-                return options;
+            PollOption option = mapJoinedOption(resultSet, pollId);
+            if (option != null) {
+                poll.getOptions().add(option);
             }
-        };
+        }
+        return new ArrayList<>(polls.values());
     }
 
-    private ResultHandler<Boolean> existsHandler() {
-        return new ResultHandler<>() {
-            @Override
-            public Boolean handle(ResultSet resultSet) throws java.sql.SQLException {
-                return handle(resultSet, true);
+    // Same row shape as mapPollsWithOptions for a single poll, plus the player's voted_option_id
+    static PollView mapPollView(ResultSet resultSet) throws java.sql.SQLException {
+        Poll poll = null;
+        Integer votedOptionId = null;
+        VoteTally.Builder tally = VoteTally.builder();
+        while (resultSet.next()) {
+            if (poll == null) {
+                poll = mapPoll(resultSet);
+                int voted = resultSet.getInt("voted_option_id");
+                votedOptionId = resultSet.wasNull() ? null : voted;
             }
-
-            @Override
-            public Boolean handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
-                return resultSet.next();
+            PollOption option = mapJoinedOption(resultSet, poll.getId());
+            if (option != null) {
+                poll.getOptions().add(option);
+                tally.add(option.getDisplayOrder(), option.getVoteCount());
             }
-        };
+        }
+        return poll == null ? null : new PollView(poll, tally.build(), votedOptionId);
+    }
+
+    // Option columns of a polls LEFT JOIN poll_options row; null when the poll has no options
+    private static PollOption mapJoinedOption(ResultSet resultSet, int pollId) throws java.sql.SQLException {
+        int optionId = resultSet.getInt("option_id");
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        PollOption option = new PollOption();
+        option.setId(optionId);
+        option.setPollId(pollId);
+        option.setOptionText(resultSet.getString("option_text"));
+        option.setDisplayOrder(resultSet.getInt("display_order"));
+        option.setVoteCount(resultSet.getInt("vote_count"));
+        return option;
     }
 
-    private ResultHandler<Map<Integer, Integer>> voteCountHandler() {
+    private ResultHandler<VoteTally> tallyHandler() {
         return new ResultHandler<>() {
             @Override
-            public Map<Integer, Integer> handle(ResultSet resultSet) throws java.sql.SQLException {
+            public VoteTally handle(ResultSet resultSet) throws java.sql.SQLException {
                 return handle(resultSet, true);
             }
 
             @Override
-            public Map<Integer, Integer> handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
-                Map<Integer, Integer> counts = new HashMap<>();
+            public VoteTally handle(ResultSet resultSet, boolean close) throws java.sql.SQLException {
+                VoteTally.Builder builder = VoteTally.builder();
                 while (resultSet.next()) {
-                    counts.put(resultSet.getInt("option_id"), resultSet.getInt("votes"));
+                    builder.add(resultSet.getInt("display_order"), resultSet.getInt("vote_count"));
                 }
-                return counts;
+                return builder.build();
             }
         };
     }
 
-    private Poll mapPoll(ResultSet resultSet) throws java.sql.SQLException {
+    private static Poll mapPoll(ResultSet resultSet) throws java.sql.SQLException {
         Poll poll = new Poll();
         poll.setId(resultSet.getInt("id"));
         poll.setQuestion(resultSet.getString("question"));
@@ -514,10 +775,30 @@ public class DatabaseManager {
         return poll;
     }
 
-    private void handleError(String message, Exception exception, Consumer<Throwable> onError) {
-        plugin.getLogger().severe(message + ": " + exception.getMessage());
-        if (onError != null) {
-            Scheduler.get().run(() -> onError.accept(exception));
+    // Queries run on the I/O executor and the future completes there, so callers can chain further queries
+    // without touching the main thread; whoever needs the result on the main thread hops once at the end
+    private <T> CompletableFuture<T> supply(String errorMessage, SqlSupplier<T> query) {
+        return supply(errorMessage, DatabaseExecutor.Priority.READ, query);
+    }
+
+    // A full queue fails the future straight away instead of throwing at the caller
+    private <T> CompletableFuture<T> supply(String errorMessage, DatabaseExecutor.Priority priority, SqlSupplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return query.get();
+                } catch (Exception e) {
+                    plugin.getLogger().severe(errorMessage + ": " + e.getMessage());
+                    throw new CompletionException(e);
+                }
+            }, executor.executor(priority));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
+
+    @FunctionalInterface
+    private interface SqlSupplier<T> {
+        T get() throws Exception;
+    }
 }
@@ -0,0 +1,4 @@
+package hu.exteron.ogpoll.database;
+
+// The last row of a history page, in the (sort column, id) order the paged queries use; the next page starts after it
+public record PollCursor(long sortKey, int id) {}
@@ -0,0 +1,77 @@
+package hu.exteron.ogpoll.database;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Concurrent lookups of one key share a query, and results stay fresh for a short window; callers must not mutate them
+public final class SingleFlight<K, V> {
+    private final long freshNanos;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    SingleFlight(long freshMillis) {
+        this.freshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, freshMillis));
+    }
+
+    CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> query) {
+        while (true) {
+            Flight<V> current = flights.get(key);
+            if (current != null) {
+                if (!current.result.isDone()) {
+                    coalesced.increment();
+                    return current.result.copy();
+                }
+                if (!current.result.isCompletedExceptionally() && System.nanoTime() - current.completedAt < freshNanos) {
+                    hits.increment();
+                    return current.result.copy();
+                }
+            }
+
+            Flight<V> flight = new Flight<>();
+            boolean claimed = current == null
+                ? flights.putIfAbsent(key, flight) == null
+                : flights.replace(key, current, flight);
+            if (!claimed) {
+                continue;
+            }
+
+            queries.increment();
+            query.get().whenComplete((value, throwable) -> {
+                flight.completedAt = System.nanoTime();
+                if (throwable != null) {
+                    // Failures are shared with whoever joined, but never reused after that
+                    flights.remove(key, flight);
+                    flight.result.completeExceptionally(throwable);
+                } else {
+                    flight.result.complete(value);
+                }
+            });
+            return flight.result.copy();
+        }
+    }
+
+    void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    Stats stats() {
+        return new Stats(queries.sum(), coalesced.sum(), hits.sum());
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long completedAt;
+    }
+
+    public record Stats(long queries, long coalesced, long hits) {
+        Stats plus(Stats other) {
+            return new Stats(queries + other.queries, coalesced + other.coalesced, hits + other.hits);
+        }
+    }
+}
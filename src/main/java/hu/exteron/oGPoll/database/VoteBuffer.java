@@ -0,0 +1,289 @@
+package hu.exteron.ogpoll.database;
+
+import com.artillexstudios.axapi.database.DatabaseHandler;
+import com.artillexstudios.axapi.scheduler.ScheduledTask;
+import com.artillexstudios.axapi.scheduler.Scheduler;
+import hu.exteron.ogpoll.OGPoll;
+import hu.exteron.ogpoll.models.Vote;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+// Write-behind queue for votes, flushed as one JDBC batch per transaction
+public final class VoteBuffer {
+    // The join doubles as the guard: no row is produced unless the poll is open and owns the option,
+    // and UNIQUE (poll_id, player_uuid) rejects a second vote from the same player
+    private static final String INSERT_SQL = """
+        INSERT INTO votes (poll_id, option_id, player_uuid, voted_at)
+        SELECT p.id, o.id, CAST(? AS VARCHAR(36)), CAST(? AS BIGINT)
+        FROM polls p
+        JOIN poll_options o ON o.poll_id = p.id
+        WHERE p.id = ? AND o.id = ? AND p.active = TRUE AND p.expires_at > ?
+        """;
+
+    private final OGPoll plugin;
+    private final DatabaseHandler handler;
+    private final DatabaseExecutor executor;
+    private final IntConsumer onRecorded;
+    private final int maxBatchSize;
+    private final Queue<PendingVote> queue = new ConcurrentLinkedQueue<>();
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledTask flushTask;
+    private volatile boolean closed = false;
+
+    public VoteBuffer(
+        OGPoll plugin,
+        DatabaseHandler handler,
+        DatabaseExecutor executor,
+        IntConsumer onRecorded,
+        long flushIntervalMillis,
+        int maxBatchSize
+    ) {
+        this.plugin = plugin;
+        this.handler = handler;
+        this.executor = executor;
+        this.onRecorded = onRecorded;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+
+        long intervalTicks = Math.max(1L, flushIntervalMillis / 50L);
+        this.flushTask = Scheduler.get().runAsyncTimer(() -> requestFlush(), intervalTicks, intervalTicks);
+    }
+
+    // False when the player already has a vote waiting, or once shutdown has started and nothing more is written
+    public boolean submit(Vote vote, Consumer<Outcome> onComplete, Consumer<Throwable> onError) {
+        String key = key(vote.getPollId(), vote.getPlayerUuid());
+        if (closed || !pendingKeys.add(key)) {
+            return false;
+        }
+        PendingVote pending = new PendingVote(vote, onComplete, onError);
+        queue.add(pending);
+        // Shutdown may have drained between the check and the add; take the vote back unless the drain got it
+        if (closed && queue.remove(pending)) {
+            pendingKeys.remove(key);
+            return false;
+        }
+        if (size.incrementAndGet() >= maxBatchSize) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    // Flushes share the database executor so they count against the same connections as every other query.
+    // A flush turned away by a full queue is not lost; the votes stay queued for the next interval.
+    private void requestFlush() {
+        if (queue.isEmpty() || !flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(DatabaseExecutor.Priority.WRITE, () -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            flushRequested.set(false);
+        }
+    }
+
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void lockFlushes() {
+        flushLock.lock();
+    }
+
+    void unlockFlushes() {
+        flushLock.unlock();
+    }
+
+    public void shutdown() {
+        closed = true;
+        flushTask.cancel();
+        flushLock.lock();
+        try {
+            drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drainAll() {
+        List<PendingVote> batch = new ArrayList<>(maxBatchSize);
+        PendingVote next;
+        while ((next = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(next);
+            if (batch.size() >= maxBatchSize) {
+                write(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<PendingVote> batch) {
+        try (Connection connection = handler.connection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int[] results;
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                    for (PendingVote pending : batch) {
+                        bind(statement, pending.vote);
+                        statement.addBatch();
+                    }
+                    results = statement.executeBatch();
+                }
+
+                Map<Integer, Integer> increments = new HashMap<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (results[i] != 0) {
+                        increments.merge(batch.get(i).vote.getOptionId(), 1, Integer::sum);
+                    }
+                }
+                incrementTallies(connection, increments);
+                connection.commit();
+
+                for (int i = 0; i < batch.size(); i++) {
+                    complete(batch.get(i), results[i] == 0 ? Outcome.REJECTED : Outcome.RECORDED);
+                }
+            } catch (BatchUpdateException e) {
+                // One bad row fails the whole transaction, so retry row by row to keep the good votes
+                connection.rollback();
+                writeIndividually(connection, batch);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to flush " + batch.size() + " buffered votes: " + e.getMessage());
+            batch.forEach(pending -> fail(pending, e));
+        }
+    }
+
+    private void writeIndividually(Connection connection, List<PendingVote> batch) {
+        for (PendingVote pending : batch) {
+            try {
+                int inserted;
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                    bind(statement, pending.vote);
+                    inserted = statement.executeUpdate();
+                }
+                if (inserted != 0) {
+                    incrementTallies(connection, Map.of(pending.vote.getOptionId(), 1));
+                }
+                connection.commit();
+                complete(pending, inserted == 0 ? Outcome.REJECTED : Outcome.RECORDED);
+            } catch (SQLException e) {
+                rollbackQuietly(connection);
+                if (isConstraintViolation(e)) {
+                    complete(pending, Outcome.DUPLICATE);
+                    continue;
+                }
+                plugin.getLogger().severe("Failed to record vote: " + e.getMessage());
+                fail(pending, e);
+            }
+        }
+    }
+
+    private void incrementTallies(Connection connection, Map<Integer, Integer> increments) throws SQLException {
+        if (increments.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+            "UPDATE poll_options SET vote_count = vote_count + ? WHERE id = ?"
+        )) {
+            for (Map.Entry<Integer, Integer> entry : increments.entrySet()) {
+                statement.setInt(1, entry.getValue());
+                statement.setInt(2, entry.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+            // The connection is already broken, the caller reports the original failure
+        }
+    }
+
+    private boolean isConstraintViolation(SQLException exception) {
+        String state = exception.getSQLState();
+        return exception instanceof SQLIntegrityConstraintViolationException
+            || (state != null && state.startsWith("23"));
+    }
+
+    private void bind(PreparedStatement statement, Vote vote) throws java.sql.SQLException {
+        statement.setString(1, vote.getPlayerUuid().toString());
+        statement.setLong(2, vote.getVotedAt());
+        statement.setInt(3, vote.getPollId());
+        statement.setInt(4, vote.getOptionId());
+        statement.setLong(5, vote.getVotedAt());
+    }
+
+    private void complete(PendingVote pending, Outcome outcome) {
+        pendingKeys.remove(key(pending.vote.getPollId(), pending.vote.getPlayerUuid()));
+        if (outcome == Outcome.RECORDED) {
+            onRecorded.accept(pending.vote.getPollId());
+        }
+        if (!closed && pending.onComplete != null) {
+            Scheduler.get().run(() -> pending.onComplete.accept(outcome));
+        }
+    }
+
+    private void fail(PendingVote pending, Throwable throwable) {
+        pendingKeys.remove(key(pending.vote.getPollId(), pending.vote.getPlayerUuid()));
+        if (!closed && pending.onError != null) {
+            Scheduler.get().run(() -> pending.onError.accept(throwable));
+        }
+    }
+
+    private static String key(int pollId, UUID playerUuid) {
+        return pollId + ":" + playerUuid;
+    }
+
+    public enum Outcome {
+        RECORDED,
+        // Poll closed, expired, deleted, or the option is not part of it
+        REJECTED,
+        DUPLICATE
+    }
+
+    private record PendingVote(Vote vote, Consumer<Outcome> onComplete, Consumer<Throwable> onError) {}
+}
@@ -0,0 +1,100 @@
+package hu.exteron.ogpoll.managers;
+
+import com.artillexstudios.axapi.scheduler.ScheduledTask;
+import com.artillexstudios.axapi.scheduler.Scheduler;
+import hu.exteron.ogpoll.models.Poll;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// One queue ordered by expiresAt, drained every tick; cancelled entries are skipped rather than removed
+public final class ExpirationScheduler {
+    private static final long RETRY_BASE_MILLIS = 5000L;
+    private static final long RETRY_MAX_MILLIS = 300000L;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final Map<Integer, Integer> failures = new ConcurrentHashMap<>();
+    private final Map<Integer, Expiry> scheduled = new ConcurrentHashMap<>();
+    private final Consumer<Poll> onExpire;
+    private ScheduledTask tickTask;
+
+    public ExpirationScheduler(Consumer<Poll> onExpire) {
+        this.onExpire = onExpire;
+    }
+
+    public void start() {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+        tickTask = Scheduler.get().runTimer(this::tick, 1L, 1L);
+    }
+
+    public void schedule(Poll poll) {
+        failures.remove(poll.getId());
+        add(new Expiry(poll, poll.getExpiresAt()));
+    }
+
+    // For a close that failed; returns the delay, which doubles with every failure of the same poll
+    public long retry(Poll poll) {
+        int attempt = failures.merge(poll.getId(), 1, Integer::sum);
+        long delay = Math.min(RETRY_MAX_MILLIS, RETRY_BASE_MILLIS << Math.min(attempt - 1, 6));
+        add(new Expiry(poll, System.currentTimeMillis() + delay));
+        return delay;
+    }
+
+    public void cancel(int pollId) {
+        scheduled.remove(pollId);
+        failures.remove(pollId);
+    }
+
+    private void add(Expiry expiry) {
+        scheduled.put(expiry.poll.getId(), expiry);
+        queue.add(expiry);
+    }
+
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        queue.clear();
+        scheduled.clear();
+        failures.clear();
+    }
+
+    private void tick() {
+        Expiry expiry;
+        while ((expiry = queue.poll()) != null) {
+            if (scheduled.remove(expiry.poll.getId(), expiry)) {
+                onExpire.accept(expiry.poll);
+            }
+        }
+    }
+
+    private static final class Expiry implements Delayed {
+        private final Poll poll;
+        private final long dueAt;
+
+        private Expiry(Poll poll, long dueAt) {
+            this.poll = poll;
+            this.dueAt = dueAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Expiry expiry) {
+                return Long.compare(dueAt, expiry.dueAt);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package hu.exteron.ogpoll.managers;
+
+import hu.exteron.ogpoll.OGPoll;
+import hu.exteron.ogpoll.database.DatabaseManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Active poll id -> chosen option id for every online player, so GUIs never ask the database
+public final class PlayerVoteCache implements Listener {
+    private final OGPoll plugin;
+    private final DatabaseManager databaseManager;
+    private final Map<UUID, Map<Integer, Integer>> votes = new ConcurrentHashMap<>();
+
+    public PlayerVoteCache(OGPoll plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        // Pre-login runs on its own thread, so waiting here holds up nothing but this login
+        load(event.getUniqueId()).join();
+    }
+
+    // A login refused after pre-login (whitelist, full server, ban) never fires a quit, so its entry is dropped here
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            evict(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        // Covers a failed pre-login load and the quit of a previous session evicting a fresh entry
+        UUID playerId = event.getPlayer().getUniqueId();
+        if (!votes.containsKey(playerId)) {
+            load(playerId);
+        }
+    }
+
+    public void loadOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            load(player.getUniqueId());
+        }
+    }
+
+    public void reload(UUID playerId) {
+        load(playerId);
+    }
+
+    private CompletableFuture<Void> load(UUID playerId) {
+        return databaseManager.loadActiveVotes(playerId).handle((result, throwable) -> {
+            if (throwable != null) {
+                plugin.getLogger().warning("Failed to load votes for " + playerId + ": " + throwable.getMessage());
+                return null;
+            }
+            Map<Integer, Integer> loaded = new ConcurrentHashMap<>(result);
+            votes.merge(playerId, loaded, (current, fresh) -> {
+                fresh.putAll(current);
+                return fresh;
+            });
+            return null;
+        });
+    }
+
+    public boolean hasVoted(UUID playerId, int pollId) {
+        return getVote(playerId, pollId) != null;
+    }
+
+    public Integer getVote(UUID playerId, int pollId) {
+        Map<Integer, Integer> playerVotes = votes.get(playerId);
+        return playerVotes != null ? playerVotes.get(pollId) : null;
+    }
+
+    public boolean recordVote(UUID playerId, int pollId, int optionId) {
+        return votes.computeIfAbsent(playerId, id -> new ConcurrentHashMap<>()).putIfAbsent(pollId, optionId) == null;
+    }
+
+    public void removeVote(UUID playerId, int pollId, int optionId) {
+        Map<Integer, Integer> playerVotes = votes.get(playerId);
+        if (playerVotes != null) {
+            playerVotes.remove(pollId, optionId);
+        }
+    }
+
+    public void removePoll(int pollId) {
+        for (Map<Integer, Integer> playerVotes : votes.values()) {
+            playerVotes.remove(pollId);
+        }
+    }
+
+    public void evict(UUID playerId) {
+        votes.remove(playerId);
+    }
+}
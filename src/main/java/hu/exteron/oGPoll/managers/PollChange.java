@@ -0,0 +1,11 @@
+package hu.exteron.ogpoll.managers;
+
+public record PollChange(Type type, int pollId) {
+
+    public enum Type {
+        VOTE_RECORDED,
+        POLL_CREATED,
+        POLL_CLOSED,
+        POLL_DELETED
+    }
+}
@@ -0,0 +1,50 @@
+package hu.exteron.ogpoll.managers;
+
+import com.artillexstudios.axapi.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Changes are collected and delivered once on the next tick, so a burst of votes on one poll is a single repaint
+public final class PollEventBus {
+    private final List<Consumer<PollChange>> listeners = new CopyOnWriteArrayList<>();
+    private final Set<PollChange> pending = new LinkedHashSet<>();
+    private boolean flushScheduled = false;
+
+    public void subscribe(Consumer<PollChange> listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(Consumer<PollChange> listener) {
+        listeners.remove(listener);
+    }
+
+    public void publish(PollChange.Type type, int pollId) {
+        synchronized (pending) {
+            pending.add(new PollChange(type, pollId));
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        Scheduler.get().runLater(this::flush, 1L);
+    }
+
+    private void flush() {
+        List<PollChange> changes;
+        synchronized (pending) {
+            changes = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        for (PollChange change : changes) {
+            for (Consumer<PollChange> listener : listeners) {
+                listener.accept(change);
+            }
+        }
+    }
+}
@@ -6,10 +6,12 @@ import com.artillexstudios.axapi.utils.Cooldown;
 import hu.exteron.ogpoll.OGPoll;
 import hu.exteron.ogpoll.config.ConfigManager;
 import hu.exteron.ogpoll.database.DatabaseManager;
+import hu.exteron.ogpoll.gui.ItemRenderCache;
 import hu.exteron.ogpoll.models.Poll;
 import hu.exteron.ogpoll.models.PollOption;
 import hu.exteron.ogpoll.models.Vote;
 import hu.exteron.ogpoll.utils.InputValidator;
+import hu.exteron.ogpoll.utils.ThreadUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -17,40 +19,84 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 public class PollManager {
+    private static final long LOAD_RETRY_TICKS = 200L;
+
     private final OGPoll plugin;
     private final ConfigManager configManager;
     private final DatabaseManager databaseManager;
-    private ScheduledTask expirationTask;
     private final Cooldown<UUID> voteCooldown = Cooldown.createSynchronized();
-    private volatile Map<Integer, Poll> activePolls = new ConcurrentHashMap<>();
-    private final Map<Integer, ScheduledTask> expirationTasks = new ConcurrentHashMap<>();
+    private final PollRegistry registry = new PollRegistry();
+    private final PlayerVoteCache voteCache;
+    private final PollEventBus events = new PollEventBus();
+    private final ExpirationScheduler expirations = new ExpirationScheduler(this::handleExpiration);
+    private final Set<Integer> closing = ConcurrentHashMap.newKeySet();
+    private ScheduledTask loadRetryTask;
 
     public PollManager(OGPoll plugin, ConfigManager configManager) {
         this.plugin = plugin;
         this.configManager = configManager;
         this.databaseManager = plugin.getDatabaseManager();
+        this.voteCache = new PlayerVoteCache(plugin);
     }
 
     public void loadActivePolls() {
-        runExpirationScan();
-        startExpirationScanner();
+        expirations.start();
+        loadRegistry();
+    }
+
+    private void loadRegistry() {
+        CompletableFuture<LoadedPolls> load = databaseManager.whenReady().thenCompose(ready -> databaseManager
+            .closeExpiredPolls(System.currentTimeMillis())
+            .exceptionally(throwable -> {
+                // Anything still overdue is closed one by one on the first tick
+                plugin.getLogger().warning("Failed to close expired polls: " + throwable.getMessage());
+                return List.of();
+            })
+        ).thenCompose(closed -> databaseManager.getActivePolls()
+            .thenApply(polls -> new LoadedPolls(closed, polls))
+        );
+
+        ThreadUtils.onMain(load, loaded -> {
+            announceCatchUp(loaded.closed());
+            registry.load(loaded.active());
+            for (Poll poll : registry.getActivePolls()) {
+                expirations.schedule(poll);
+            }
+        }, throwable -> {
+            plugin.getLogger().severe("Failed to load active polls, retrying in "
+                + LOAD_RETRY_TICKS / 20L + " seconds: " + throwable.getMessage());
+            loadRetryTask = Scheduler.get().runLater(this::loadRegistry, LOAD_RETRY_TICKS);
+        });
+    }
+
+    public PollRegistry getRegistry() {
+        return registry;
+    }
+
+    public PlayerVoteCache getVoteCache() {
+        return voteCache;
+    }
+
+    public void subscribe(Consumer<PollChange> listener) {
+        events.subscribe(listener);
+    }
+
+    public void unsubscribe(Consumer<PollChange> listener) {
+        events.unsubscribe(listener);
     }
 
     public void shutdown() {
-        if (expirationTask != null) {
-            expirationTask.cancel();
-            expirationTask = null;
-        }
-        
-        for (ScheduledTask task : expirationTasks.values()) {
-            task.cancel();
+        if (loadRetryTask != null) {
+            loadRetryTask.cancel();
         }
-        expirationTasks.clear();
+        expirations.shutdown();
     }
 
     public void createPoll(
@@ -95,43 +141,38 @@ public class PollManager {
             return;
         }
 
-        databaseManager.getActivePolls(polls -> {
-            if (polls.size() >= configManager.getMaxActivePolls()) {
+        Poll poll = new Poll();
+        poll.setQuestion(sanitizedQuestion);
+        poll.setCreatorUuid(creator);
+
+        Player onlinePlayer = Bukkit.getPlayer(creator);
+        String creatorName = onlinePlayer != null ? onlinePlayer.getName() :
+                            Bukkit.getOfflinePlayer(creator).getName();
+        poll.setCreatorName(creatorName != null ? creatorName : "Unknown");
+
+        poll.setCreatedAt(System.currentTimeMillis());
+        poll.setExpiresAt(System.currentTimeMillis() + durationMillis);
+        poll.setActive(true);
+        poll.setMaxVotes(maxVotes);
+
+        List<PollOption> pollOptions = new ArrayList<>();
+        for (int i = 0; i < sanitizedOptions.size(); i++) {
+            PollOption option = new PollOption();
+            option.setOptionText(sanitizedOptions.get(i));
+            option.setDisplayOrder(i);
+            pollOptions.add(option);
+        }
+        poll.setOptions(pollOptions);
+
+        ThreadUtils.onMain(databaseManager.createPoll(poll, configManager.getMaxActivePolls()), created -> {
+            if (created == null) {
                 onFailure.accept("error.max-polls-reached");
                 return;
             }
-
-            Poll poll = new Poll();
-            poll.setQuestion(sanitizedQuestion);
-            poll.setCreatorUuid(creator);
-            
-            Player onlinePlayer = Bukkit.getPlayer(creator);
-            String creatorName = onlinePlayer != null ? onlinePlayer.getName() : 
-                                Bukkit.getOfflinePlayer(creator).getName();
-            poll.setCreatorName(creatorName != null ? creatorName : "Unknown");
-            
-            poll.setCreatedAt(System.currentTimeMillis());
-            poll.setExpiresAt(System.currentTimeMillis() + durationMillis);
-            poll.setActive(true);
-            poll.setMaxVotes(maxVotes);
-
-            databaseManager.createPoll(poll, pollId -> {
-                poll.setId(pollId);
-                List<PollOption> pollOptions = new ArrayList<>();
-                for (int i = 0; i < sanitizedOptions.size(); i++) {
-                    PollOption option = new PollOption();
-                    option.setPollId(pollId);
-                    option.setOptionText(sanitizedOptions.get(i));
-                    option.setDisplayOrder(i);
-                    pollOptions.add(option);
-                }
-                addOptionsSequential(new ArrayList<>(pollOptions), () -> {
-                    poll.setOptions(pollOptions);
-                    this.activePolls.put(poll.getId(), poll);
-                    scheduleExpiration(poll);
-                    onSuccess.accept(poll);
-                }, throwable -> onFailure.accept("error.database"));
-            }, throwable -> onFailure.accept("error.database"));
+            registry.register(created);
+            expirations.schedule(registry.get(created.getId()));
+            events.publish(PollChange.Type.POLL_CREATED, created.getId());
+            onSuccess.accept(created);
         }, throwable -> onFailure.accept("error.database"));
     }
 
@@ -142,155 +183,182 @@ public class PollManager {
             return;
         }
 
-        databaseManager.getPollById(pollId, poll -> {
-            if (poll == null || !poll.isActive() || poll.isExpired()) {
-                onResult.accept(VoteResult.fail("error.poll-expired", 0L));
-                return;
-            }
+        Poll poll = registry.get(pollId);
+        if (poll == null || poll.isExpired() || closing.contains(pollId) || !registry.hasOption(pollId, optionId)) {
+            onResult.accept(VoteResult.fail("error.poll-expired", 0L));
+            return;
+        }
 
-            databaseManager.hasVoted(pollId, playerUuid, hasVoted -> {
-                if (hasVoted) {
+        if (!voteCache.recordVote(playerUuid, pollId, optionId)) {
+            onResult.accept(VoteResult.fail("vote-already", 0L));
+            return;
+        }
+
+        Vote vote = new Vote();
+        vote.setPollId(pollId);
+        vote.setOptionId(optionId);
+        vote.setPlayerUuid(playerUuid);
+        vote.setVotedAt(System.currentTimeMillis());
+
+        // The player is answered as soon as the buffer takes the vote; onResult only runs again to correct that
+        boolean accepted = databaseManager.getVoteBuffer().submit(vote, outcome -> {
+            switch (outcome) {
+                case RECORDED -> {
+                    int totalVotes = registry.recordVote(pollId, optionId);
+                    events.publish(PollChange.Type.VOTE_RECORDED, pollId);
+                    checkMaxVotesReached(poll, totalVotes);
+                }
+                case DUPLICATE -> {
+                    // The cache missed an earlier vote, so the option we stored may be the wrong one
+                    voteCache.removeVote(playerUuid, pollId, optionId);
+                    voteCache.reload(playerUuid);
                     onResult.accept(VoteResult.fail("vote-already", 0L));
-                    return;
                 }
+                case REJECTED -> {
+                    voteCache.removeVote(playerUuid, pollId, optionId);
+                    onResult.accept(VoteResult.fail("error.poll-expired", 0L));
+                }
+            }
+        }, throwable -> {
+            voteCache.removeVote(playerUuid, pollId, optionId);
+            onResult.accept(VoteResult.fail("error.database", 0L));
+        });
 
-                Vote vote = new Vote();
-                vote.setPollId(pollId);
-                vote.setOptionId(optionId);
-                vote.setPlayerUuid(playerUuid);
-                vote.setVotedAt(System.currentTimeMillis());
-
-                databaseManager.recordVote(vote, () -> {
-                    voteCooldown.addCooldown(playerUuid, configManager.getVoteCooldownMillis());
-                    onResult.accept(VoteResult.ok());
-                    checkMaxVotesReached(poll);
-                }, throwable -> onResult.accept(VoteResult.fail("error.database", 0L)));
-            }, throwable -> onResult.accept(VoteResult.fail("error.database", 0L)));
-        }, throwable -> onResult.accept(VoteResult.fail("error.database", 0L)));
+        if (!accepted) {
+            voteCache.removeVote(playerUuid, pollId, optionId);
+            boolean closed = databaseManager.getVoteBuffer().isClosed();
+            onResult.accept(VoteResult.fail(closed ? "error.database" : "vote-already", 0L));
+            return;
+        }
+        voteCooldown.addCooldown(playerUuid, configManager.getVoteCooldownMillis());
+        onResult.accept(VoteResult.ok());
     }
 
-    public void closePoll(int pollId, Runnable onSuccess, Consumer<Throwable> onError) {
-        cancelExpirationTask(pollId);
-        
-        databaseManager.closePoll(pollId, () -> {
-            activePolls.remove(pollId);
-            onSuccess.run();
-        }, onError);
+    // The returned futures complete on the I/O executor. The registry, vote cache and event bus
+    // are safe to touch from there, so callers only hop to the main thread for their own follow-up.
+    public CompletableFuture<Void> closePoll(int pollId) {
+        expirations.cancel(pollId);
+
+        return databaseManager.closePoll(pollId).thenRun(() -> {
+            forget(pollId);
+            events.publish(PollChange.Type.POLL_CLOSED, pollId);
+        });
     }
 
-    public void deletePoll(int pollId, Runnable onSuccess, Consumer<Throwable> onError) {
-        cancelExpirationTask(pollId);
-        
-        databaseManager.deletePoll(pollId, () -> {
-            activePolls.remove(pollId);
-            onSuccess.run();
-        }, onError);
+    public CompletableFuture<Void> deletePoll(int pollId) {
+        expirations.cancel(pollId);
+
+        return databaseManager.deletePoll(pollId).thenRun(() -> {
+            forget(pollId);
+            events.publish(PollChange.Type.POLL_DELETED, pollId);
+        });
     }
-    
-    private void cancelExpirationTask(int pollId) {
-        ScheduledTask task = expirationTasks.remove(pollId);
-        if (task != null) {
-            task.cancel();
-        }
+
+    // The tally is applied on the main thread like vote callbacks, so no vote is counted twice or lost
+    public CompletableFuture<Integer> recountVotes(int pollId) {
+        return databaseManager.recountVotes(pollId, tally -> {
+            if (registry.contains(pollId)) {
+                registry.setTally(pollId, tally);
+                events.publish(PollChange.Type.VOTE_RECORDED, pollId);
+            }
+        });
     }
 
     public List<String> getActivePollIdStrings() {
         List<String> ids = new ArrayList<>();
-        for (Integer id : activePolls.keySet()) {
+        for (Integer id : registry.getIds()) {
             ids.add(String.valueOf(id));
         }
         return ids;
     }
 
-    private void startExpirationScanner() {
-        if (expirationTask != null) {
-            expirationTask.cancel();
-        }
-        long intervalTicks = 20L * 60L;
-        expirationTask = Scheduler.get().runAsyncTimer(this::runExpirationScan, intervalTicks, intervalTicks);
+    private void forget(int pollId) {
+        registry.remove(pollId);
+        voteCache.removePoll(pollId);
+        ItemRenderCache.invalidate(pollId);
     }
 
-    private void runExpirationScan() {
-        databaseManager.getActivePolls(polls -> {
-            Map<Integer, Poll> newActivePolls = new ConcurrentHashMap<>();
-            for (Poll poll : polls) {
-                newActivePolls.put(poll.getId(), poll);
-                if (poll.isExpired()) {
-                    handleExpiration(poll);
-                }
-            }
-            activePolls = newActivePolls;
-        }, throwable -> plugin.getLogger().warning("Failed to scan active polls: " + throwable.getMessage()));
+    private void handleExpiration(Poll poll) {
+        int totalVotes = registry.getTally(poll.getId()).getTotal();
+        if (poll.getMaxVotes() > 0 && totalVotes >= poll.getMaxVotes()) {
+            // A retried max-votes close, which should still be announced as one
+            finish(poll, "poll-max-votes-reached", totalVotes);
+            return;
+        }
+        finish(poll, "poll-expired-broadcast", totalVotes);
     }
 
-    private void handleExpiration(Poll poll) {
-        databaseManager.closePoll(poll.getId(), () -> {
-            activePolls.remove(poll.getId());
+    // Votes are turned away while the close is in flight, and a failed close goes back to the scheduler with a backoff
+    private void finish(Poll poll, String messageKey, int totalVotes) {
+        int pollId = poll.getId();
+        if (!closing.add(pollId)) {
+            return;
+        }
+        CompletableFuture<Void> closed = databaseManager.closePoll(pollId).thenRun(() -> {
+            forget(pollId);
+            events.publish(PollChange.Type.POLL_CLOSED, pollId);
+        });
+        ThreadUtils.onMain(closed, ignored -> {
+            closing.remove(pollId);
             if (configManager.shouldBroadcastEnd()) {
                 Map<String, String> replacements = new HashMap<>();
                 replacements.put("question", poll.getQuestion());
+                replacements.put("votes", String.valueOf(totalVotes));
                 Bukkit.getOnlinePlayers().forEach(player ->
-                    configManager.sendMessage(player, "poll-expired-broadcast", replacements)
+                    configManager.sendMessage(player, messageKey, replacements)
                 );
             }
-        }, throwable -> plugin.getLogger().warning("Failed to close poll: " + throwable.getMessage()));
+        }, throwable -> {
+            closing.remove(pollId);
+            if (!registry.contains(pollId)) {
+                return;
+            }
+            long delay = expirations.retry(poll);
+            plugin.getLogger().warning("Failed to close poll " + pollId + ", retrying in "
+                + delay / 1000L + " seconds: " + throwable.getMessage());
+        });
     }
 
-    private void checkMaxVotesReached(Poll poll) {
-        int maxVotes = poll.getMaxVotes();
-        if (maxVotes <= 0) {
+    private void announceCatchUp(List<Poll> closed) {
+        if (closed.isEmpty()) {
+            return;
+        }
+        plugin.getLogger().info("Closed " + closed.size() + " poll(s) that expired while the server was offline");
+        if (!configManager.shouldBroadcastEnd()) {
             return;
         }
 
-        databaseManager.getVoteCounts(poll.getId(), counts -> {
-            int totalVotes = counts.values().stream().mapToInt(Integer::intValue).sum();
-            if (totalVotes >= maxVotes) {
-                databaseManager.closePoll(poll.getId(), () -> {
-                    activePolls.remove(poll.getId());
-                    if (configManager.shouldBroadcastEnd()) {
-                        Map<String, String> replacements = new HashMap<>();
-                        replacements.put("question", poll.getQuestion());
-                        replacements.put("votes", String.valueOf(totalVotes));
-                        Bukkit.getOnlinePlayers().forEach(player ->
-                            configManager.sendMessage(player, "poll-max-votes-reached", replacements)
-                        );
-                    }
-                }, throwable -> plugin.getLogger().warning("Failed to close poll after max votes: " + throwable.getMessage()));
+        Map<String, String> replacements = new HashMap<>();
+        String messageKey;
+        if (closed.size() == 1) {
+            messageKey = "poll-expired-broadcast";
+            replacements.put("question", closed.get(0).getQuestion());
+        } else {
+            messageKey = "polls-expired-broadcast";
+            List<String> questions = new ArrayList<>();
+            for (Poll poll : closed) {
+                questions.add(poll.getQuestion());
             }
-        }, throwable -> plugin.getLogger().warning("Failed to check vote counts: " + throwable.getMessage()));
-    }
-
-    private void scheduleExpiration(Poll poll) {
-        long delayMillis = poll.getExpiresAt() - System.currentTimeMillis();
-        if (delayMillis <= 0L) {
-            handleExpiration(poll);
-            return;
+            replacements.put("count", String.valueOf(closed.size()));
+            replacements.put("questions", String.join("', '", questions));
         }
-        long delayTicks = Math.max(1L, delayMillis / 50L);
-        
-        cancelExpirationTask(poll.getId());
-        
-        ScheduledTask task = Scheduler.get().runLater(() -> {
-            expirationTasks.remove(poll.getId());
-            handleExpiration(poll);
-        }, delayTicks);
-        expirationTasks.put(poll.getId(), task);
+        Bukkit.getOnlinePlayers().forEach(player ->
+            configManager.sendMessage(player, messageKey, replacements)
+        );
     }
 
-    private void addOptionsSequential(
-        List<PollOption> options,
-        Runnable onSuccess,
-        Consumer<Throwable> onError
-    ) {
-        if (options.isEmpty()) {
-            onSuccess.run();
+    private void checkMaxVotesReached(Poll poll, int totalVotes) {
+        int maxVotes = poll.getMaxVotes();
+        if (maxVotes <= 0 || totalVotes < maxVotes || !registry.contains(poll.getId())) {
             return;
         }
 
-        PollOption option = options.remove(0);
-        databaseManager.addOption(option, () -> addOptionsSequential(options, onSuccess, onError), onError);
+        expirations.cancel(poll.getId());
+        finish(poll, "poll-max-votes-reached", totalVotes);
     }
 
+    private record LoadedPolls(List<Poll> closed, List<Poll> active) {}
+
     public record VoteResult(boolean success, String messageKey, long remainingMillis) {
         public static VoteResult ok() {
             return new VoteResult(true, "", 0L);
@@ -0,0 +1,182 @@
+package hu.exteron.ogpoll.managers;
+
+import hu.exteron.ogpoll.models.Poll;
+import hu.exteron.ogpoll.models.PollOption;
+import hu.exteron.ogpoll.models.VoteTally;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Authoritative view of the active polls; the database is only written through, never read back
+public final class PollRegistry {
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    public void load(List<Poll> polls) {
+        Map<Integer, Entry> loaded = new HashMap<>();
+        for (Poll poll : polls) {
+            loaded.put(poll.getId(), new Entry(poll));
+        }
+        entries.clear();
+        entries.putAll(loaded);
+    }
+
+    public void register(Poll poll) {
+        entries.put(poll.getId(), new Entry(poll));
+    }
+
+    public void remove(int pollId) {
+        entries.remove(pollId);
+    }
+
+    public boolean contains(int pollId) {
+        return entries.containsKey(pollId);
+    }
+
+    public Poll get(int pollId) {
+        Entry entry = entries.get(pollId);
+        return entry != null ? entry.poll : null;
+    }
+
+    public Set<Integer> getIds() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public List<Poll> getActivePolls() {
+        List<Poll> polls = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            polls.add(entry.poll);
+        }
+        polls.sort(Comparator.comparingLong(Poll::getCreatedAt).reversed());
+        return polls;
+    }
+
+    public boolean hasOption(int pollId, int optionId) {
+        Entry entry = entries.get(pollId);
+        return entry != null && entry.indexOf(optionId) >= 0;
+    }
+
+    public int recordVote(int pollId, int optionId) {
+        Entry entry = entries.get(pollId);
+        if (entry == null) {
+            return 0;
+        }
+        int index = entry.indexOf(optionId);
+        if (index >= 0) {
+            entry.tallies[index].increment();
+            entry.version.incrementAndGet();
+        }
+        return entry.total();
+    }
+
+    // Main thread only, like recordVote: reset and add are not atomic against an increment
+    public void setTally(int pollId, VoteTally tally) {
+        Entry entry = entries.get(pollId);
+        if (entry == null) {
+            return;
+        }
+        for (int i = 0; i < entry.tallies.length; i++) {
+            LongAdder adder = entry.tallies[i];
+            adder.reset();
+            adder.add(tally.getVotes(i));
+        }
+        entry.version.incrementAndGet();
+    }
+
+    // Bumped on every tally change; -1 for polls that are not active
+    public long getVersion(int pollId) {
+        Entry entry = entries.get(pollId);
+        return entry != null ? entry.version.get() : -1L;
+    }
+
+    public VoteTally getTally(int pollId) {
+        Entry entry = entries.get(pollId);
+        if (entry == null) {
+            return VoteTally.empty();
+        }
+        VoteTally.Builder builder = VoteTally.builder();
+        for (int i = 0; i < entry.tallies.length; i++) {
+            builder.add(i, entry.tallies[i].intValue());
+        }
+        return builder.build();
+    }
+
+    private static final class Entry {
+        private final Poll poll;
+        private final int[] optionIds;
+        private final LongAdder[] tallies;
+        private final AtomicLong version = new AtomicLong();
+
+        private Entry(Poll source) {
+            List<PollOption> options = new ArrayList<>(source.getOptions().size());
+            int slots = 0;
+            for (PollOption option : source.getOptions()) {
+                slots = Math.max(slots, option.getDisplayOrder() + 1);
+            }
+            // Indexed by display order, like VoteTally
+            optionIds = new int[slots];
+            tallies = new LongAdder[slots];
+            for (int i = 0; i < slots; i++) {
+                tallies[i] = new LongAdder();
+            }
+            for (PollOption original : source.getOptions()) {
+                PollOption option = copy(original);
+                options.add(option);
+                if (option.getDisplayOrder() >= 0) {
+                    optionIds[option.getDisplayOrder()] = option.getId();
+                    tallies[option.getDisplayOrder()].add(option.getVoteCount());
+                }
+            }
+            poll = copy(source, Collections.unmodifiableList(options));
+        }
+
+        private int indexOf(int optionId) {
+            for (int i = 0; i < optionIds.length; i++) {
+                if (optionIds[i] == optionId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int total() {
+            long total = 0L;
+            for (LongAdder tally : tallies) {
+                total += tally.sum();
+            }
+            return (int) total;
+        }
+
+        private static Poll copy(Poll source, List<PollOption> options) {
+            Poll poll = new Poll();
+            poll.setId(source.getId());
+            poll.setQuestion(source.getQuestion());
+            poll.setCreatorUuid(source.getCreatorUuid());
+            poll.setCreatorName(source.getCreatorName());
+            poll.setCreatedAt(source.getCreatedAt());
+            poll.setExpiresAt(source.getExpiresAt());
+            poll.setActive(source.isActive());
+            poll.setClosedAt(source.getClosedAt());
+            poll.setMaxVotes(source.getMaxVotes());
+            poll.setOptions(options);
+            return poll;
+        }
+
+        private static PollOption copy(PollOption source) {
+            PollOption option = new PollOption();
+            option.setId(source.getId());
+            option.setPollId(source.getPollId());
+            option.setOptionText(source.getOptionText());
+            option.setDisplayOrder(source.getDisplayOrder());
+            option.setVoteCount(source.getVoteCount());
+            return option;
+        }
+    }
+}
@@ -2,14 +2,20 @@ package hu.exteron.ogpoll.commands;
 
 import hu.exteron.ogpoll.OGPoll;
 import hu.exteron.ogpoll.config.ConfigManager;
+import hu.exteron.ogpoll.database.DatabaseExecutor;
 import hu.exteron.ogpoll.database.DatabaseManager;
+import hu.exteron.ogpoll.database.PollCursor;
+import hu.exteron.ogpoll.database.SingleFlight;
 import hu.exteron.ogpoll.managers.ChatInputManager;
 import hu.exteron.ogpoll.managers.PollManager;
 import hu.exteron.ogpoll.utils.DurationParser;
+import hu.exteron.ogpoll.utils.ThreadUtils;
 import hu.exteron.ogpoll.gui.FinishedPollsGUI;
 import hu.exteron.ogpoll.gui.PollCreationGUI;
 import hu.exteron.ogpoll.gui.PollListGUI;
+import hu.exteron.ogpoll.gui.RenderStats;
 import hu.exteron.ogpoll.models.Poll;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.paper.PaperCommandManager;
@@ -18,7 +24,10 @@ import org.incendo.cloud.parser.standard.IntegerParser;
 import org.incendo.cloud.parser.standard.StringParser;
 import org.incendo.cloud.suggestion.SuggestionProvider;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public final class CommandManager {
@@ -27,6 +36,7 @@ public final class CommandManager {
     private final PollManager pollManager;
     private final DatabaseManager databaseManager;
     private final PaperCommandManager<CommandSourceStack> manager;
+    private final Map<String, ListCursor> listCursors = new ConcurrentHashMap<>();
 
     public CommandManager(OGPoll plugin) {
         this.plugin = plugin;
@@ -107,11 +117,18 @@ public final class CommandManager {
                 .literal("reload")
                 .permission("ogpoll.manage")
                 .handler(context -> {
-                    configManager.reload();
+                    plugin.reload();
                     configManager.sendMessage(context.sender().getSender(), "reload-complete");
                 })
         );
 
+        manager.command(
+            manager.commandBuilder("polls")
+                .literal("stats")
+                .permission("ogpoll.manage")
+                .handler(context -> sendStats(context.sender()))
+        );
+
         manager.command(
             manager.commandBuilder("polls")
                 .literal("close")
@@ -122,18 +139,7 @@ public final class CommandManager {
                 .handler(context -> {
                     int pollId = context.get("pollId");
                     CommandSourceStack sender = context.sender();
-                    databaseManager.getPollById(pollId, poll -> {
-                        if (poll == null) {
-                            configManager.sendMessage(sender.getSender(), "error.poll-not-found");
-                            return;
-                        }
-                        pollManager.closePoll(pollId,
-                            () -> configManager.sendMessage(sender.getSender(), "poll-closed", Map.of(
-                                "question", poll.getQuestion()
-                            )),
-                            throwable -> configManager.sendMessage(sender.getSender(), "error.database")
-                        );
-                    }, throwable -> configManager.sendMessage(sender.getSender(), "error.database"));
+                    closePoll(sender, pollId);
                 })
         );
 
@@ -147,38 +153,32 @@ public final class CommandManager {
                 .handler(context -> {
                     int pollId = context.get("pollId");
                     CommandSourceStack sender = context.sender();
-                    pollManager.deletePoll(pollId,
-                        () -> configManager.sendMessage(sender.getSender(), "poll-removed"),
-                        throwable -> configManager.sendMessage(sender.getSender(), "error.database")
-                    );
+                    removePoll(sender, pollId);
                 })
         );
 
         manager.command(
             manager.commandBuilder("polls")
-                .literal("list")
+                .literal("recount")
                 .permission("ogpoll.manage")
+                .required("pollId", IntegerParser.integerParser(),
+                    SuggestionProvider.blockingStrings((ctx, input) -> pollManager.getActivePollIdStrings())
+                )
                 .handler(context -> {
+                    int pollId = context.get("pollId");
                     CommandSourceStack sender = context.sender();
-                    databaseManager.getAllPolls(polls -> {
-                        if (polls.isEmpty()) {
-                            configManager.sendMessage(sender.getSender(), "admin-poll-list-empty");
-                            return;
-                        }
-                        configManager.sendMessage(sender.getSender(), "admin-poll-list-header");
-                        long now = System.currentTimeMillis();
-                        polls.forEach(poll -> {
-                            String status = buildPollStatus(poll, now);
-                            configManager.sendMessage(sender.getSender(), "admin-poll-list-entry", Map.of(
-                                "id", String.valueOf(poll.getId()),
-                                "question", poll.getQuestion(),
-                                "status", status
-                            ));
-                        });
-                    }, throwable -> configManager.sendMessage(sender.getSender(), "error.database"));
+                    recountVotes(sender, pollId);
                 })
         );
 
+        manager.command(
+            manager.commandBuilder("polls")
+                .literal("list")
+                .permission("ogpoll.manage")
+                .optional("page", IntegerParser.integerParser(1))
+                .handler(context -> listPolls(context.sender(), context.getOrDefault("page", 1)))
+        );
+
         manager.command(
             manager.commandBuilder("poll")
                 .literal("finished")
@@ -197,11 +197,18 @@ public final class CommandManager {
                 .literal("reload")
                 .permission("ogpoll.manage")
                 .handler(context -> {
-                    configManager.reload();
+                    plugin.reload();
                     configManager.sendMessage(context.sender().getSender(), "reload-complete");
                 })
         );
 
+        manager.command(
+            manager.commandBuilder("poll")
+                .literal("stats")
+                .permission("ogpoll.manage")
+                .handler(context -> sendStats(context.sender()))
+        );
+
         manager.command(
             manager.commandBuilder("poll")
                 .literal("close")
@@ -212,18 +219,7 @@ public final class CommandManager {
                 .handler(context -> {
                     int pollId = context.get("pollId");
                     CommandSourceStack sender = context.sender();
-                    databaseManager.getPollById(pollId, poll -> {
-                        if (poll == null) {
-                            configManager.sendMessage(sender.getSender(), "error.poll-not-found");
-                            return;
-                        }
-                        pollManager.closePoll(pollId,
-                            () -> configManager.sendMessage(sender.getSender(), "poll-closed", Map.of(
-                                "question", poll.getQuestion()
-                            )),
-                            throwable -> configManager.sendMessage(sender.getSender(), "error.database")
-                        );
-                    }, throwable -> configManager.sendMessage(sender.getSender(), "error.database"));
+                    closePoll(sender, pollId);
                 })
         );
 
@@ -237,37 +233,156 @@ public final class CommandManager {
                 .handler(context -> {
                     int pollId = context.get("pollId");
                     CommandSourceStack sender = context.sender();
-                    pollManager.deletePoll(pollId,
-                        () -> configManager.sendMessage(sender.getSender(), "poll-removed"),
-                        throwable -> configManager.sendMessage(sender.getSender(), "error.database")
-                    );
+                    removePoll(sender, pollId);
                 })
         );
 
         manager.command(
             manager.commandBuilder("poll")
-                .literal("list")
+                .literal("recount")
                 .permission("ogpoll.manage")
+                .required("pollId", IntegerParser.integerParser(),
+                    SuggestionProvider.blockingStrings((ctx, input) -> pollManager.getActivePollIdStrings())
+                )
                 .handler(context -> {
+                    int pollId = context.get("pollId");
                     CommandSourceStack sender = context.sender();
-                    databaseManager.getAllPolls(polls -> {
-                        if (polls.isEmpty()) {
-                            configManager.sendMessage(sender.getSender(), "admin-poll-list-empty");
-                            return;
-                        }
-                        configManager.sendMessage(sender.getSender(), "admin-poll-list-header");
-                        long now = System.currentTimeMillis();
-                        polls.forEach(poll -> {
-                            String status = buildPollStatus(poll, now);
-                            configManager.sendMessage(sender.getSender(), "admin-poll-list-entry", Map.of(
-                                "id", String.valueOf(poll.getId()),
-                                "question", poll.getQuestion(),
-                                "status", status
-                            ));
-                        });
-                    }, throwable -> configManager.sendMessage(sender.getSender(), "error.database"));
+                    recountVotes(sender, pollId);
                 })
         );
+
+        manager.command(
+            manager.commandBuilder("poll")
+                .literal("list")
+                .permission("ogpoll.manage")
+                .optional("page", IntegerParser.integerParser(1))
+                .handler(context -> listPolls(context.sender(), context.getOrDefault("page", 1)))
+        );
+    }
+
+    // Pages forward seek from where the sender's previous page ended; any other page falls back to an offset
+    private void listPolls(CommandSourceStack source, int requestedPage) {
+        CommandSender sender = source.getSender();
+        int pageSize = configManager.getPollListPageSize();
+        CompletableFuture<PollListPage> listing = databaseManager.countPolls().thenCompose(total -> {
+            if (total == 0) {
+                return CompletableFuture.completedFuture(null);
+            }
+            int maxPage = (total + pageSize - 1) / pageSize;
+            int page = Math.min(requestedPage, maxPage);
+            ListCursor previous = listCursors.get(sender.getName());
+            PollCursor after = previous != null && previous.page() == page ? previous.after() : null;
+            return databaseManager.getPolls(after, (page - 1) * pageSize, pageSize)
+                .thenApply(polls -> new PollListPage(page, maxPage, polls));
+        });
+
+        ThreadUtils.onMain(listing, result -> {
+            if (result == null) {
+                configManager.sendMessage(sender, "admin-poll-list-empty");
+                return;
+            }
+            configManager.sendMessage(sender, "admin-poll-list-header", Map.of(
+                "page", String.valueOf(result.page()),
+                "max_page", String.valueOf(result.maxPage())
+            ));
+            long now = System.currentTimeMillis();
+            List<Poll> polls = result.polls();
+            polls.forEach(poll -> {
+                String status = buildPollStatus(poll, now);
+                configManager.sendMessage(sender, "admin-poll-list-entry", Map.of(
+                    "id", String.valueOf(poll.getId()),
+                    "question", poll.getQuestion(),
+                    "status", status
+                ));
+            });
+            if (!polls.isEmpty()) {
+                Poll last = polls.get(polls.size() - 1);
+                listCursors.put(sender.getName(), new ListCursor(result.page() + 1, new PollCursor(last.getCreatedAt(), last.getId())));
+            }
+        }, throwable -> configManager.sendMessage(sender, "error.database"));
+    }
+
+    public void forgetListCursor(String senderName) {
+        listCursors.remove(senderName);
+    }
+
+    private void sendStats(CommandSourceStack sender) {
+        RenderStats.Snapshot render = RenderStats.snapshot();
+        configManager.sendMessage(sender.getSender(), "stats-header");
+        configManager.sendMessage(sender.getSender(), "stats-gui", Map.of(
+            "sent", String.valueOf(render.sent()),
+            "sent_per_minute", String.valueOf(render.perMinute(render.sent())),
+            "skipped", String.valueOf(render.skipped()),
+            "skipped_per_minute", String.valueOf(render.perMinute(render.skipped())),
+            "full_updates", String.valueOf(render.fullUpdates())
+        ));
+        configManager.sendMessage(sender.getSender(), "stats-ticker", Map.of(
+            "views", String.valueOf(plugin.getGuiTicker().getOpenViews()),
+            "budget_exceeded", String.valueOf(render.budgetExceeded())
+        ));
+        DatabaseExecutor.Snapshot database = databaseManager.getExecutorStats();
+        configManager.sendMessage(sender.getSender(), "stats-database", Map.of(
+            "active", String.valueOf(database.active()),
+            "connections", String.valueOf(database.connections()),
+            "queued", String.valueOf(database.queued()),
+            "peak_queued", String.valueOf(database.peakQueued()),
+            "capacity", String.valueOf(database.capacity()),
+            "completed", String.valueOf(database.completed())
+        ));
+        configManager.sendMessage(sender.getSender(), "stats-database-lanes", Map.of(
+            "reads", String.valueOf(database.activeReads()),
+            "writes", String.valueOf(database.active() - database.activeReads()),
+            "reserved", String.valueOf(database.reservedWrites()),
+            "waiting_writes", String.valueOf(database.waitingWrites()),
+            "longest_write_wait", String.valueOf(database.longestWriteWaitMillis())
+        ));
+        SingleFlight.Stats coalescing = databaseManager.getCoalescingStats();
+        configManager.sendMessage(sender.getSender(), "stats-database-coalescing", Map.of(
+            "queries", String.valueOf(coalescing.queries()),
+            "coalesced", String.valueOf(coalescing.coalesced()),
+            "hits", String.valueOf(coalescing.hits())
+        ));
+        configManager.sendMessage(sender.getSender(), "stats-database-rejections", Map.of(
+            "shed", String.valueOf(database.shed()),
+            "rejected", String.valueOf(database.rejected())
+        ));
+    }
+
+    // Looks the poll up and closes it in one chain on the I/O executor; only the reply runs on the main thread
+    private void closePoll(CommandSourceStack sender, int pollId) {
+        CompletableFuture<Poll> closed = databaseManager.getPollById(pollId).thenCompose(poll -> poll == null
+            ? CompletableFuture.completedFuture(null)
+            : pollManager.closePoll(pollId).thenApply(ignored -> poll)
+        );
+        ThreadUtils.onMain(closed, poll -> {
+            if (poll == null) {
+                configManager.sendMessage(sender.getSender(), "error.poll-not-found");
+                return;
+            }
+            configManager.sendMessage(sender.getSender(), "poll-closed", Map.of(
+                "question", poll.getQuestion()
+            ));
+        }, throwable -> configManager.sendMessage(sender.getSender(), "error.database"));
+    }
+
+    private void removePoll(CommandSourceStack sender, int pollId) {
+        ThreadUtils.onMain(pollManager.deletePoll(pollId),
+            ignored -> configManager.sendMessage(sender.getSender(), "poll-removed"),
+            throwable -> configManager.sendMessage(sender.getSender(), "error.database")
+        );
+    }
+
+    private void recountVotes(CommandSourceStack sender, int pollId) {
+        ThreadUtils.onMain(pollManager.recountVotes(pollId), total -> {
+            if (total == null) {
+                configManager.sendMessage(sender.getSender(), "error.poll-not-found");
+                return;
+            }
+            configManager.sendMessage(sender.getSender(), "poll-recounted", Map.of(
+                "id", String.valueOf(pollId),
+                "votes", String.valueOf(total)
+            ));
+        }, throwable -> configManager.sendMessage(sender.getSender(), "error.database"));
     }
 
     private void startCreatePollWizard(Player player) {
@@ -363,4 +478,8 @@ public final class CommandManager {
         builder.append(seconds).append("s");
         return builder.toString();
     }
+
+    private record ListCursor(int page, PollCursor after) {}
+
+    private record PollListPage(int page, int maxPage, List<Poll> polls) {}
 }
@@ -60,10 +60,7 @@ public final class PollCreationSession {
         Map<String, String> replacements = new HashMap<>();
         replacements.put("number", String.valueOf(number));
         configManager.sendMessage(player, "chat-input.enter-option", replacements);
-        String rawPrompt = applyReplacements(
-            configManager.getMessagesConfig().getString("chat-input.enter-option", ""),
-            replacements
-        );
+        String rawPrompt = configManager.rawMessage("chat-input.enter-option", replacements);
 
         ChatInputManager.request(player, rawPrompt, input -> true, input -> {
             if (input.equalsIgnoreCase("cancel")) {
@@ -122,14 +119,6 @@ public final class PollCreationSession {
         });
     }
 
-    private String applyReplacements(String input, Map<String, String> replacements) {
-        String output = input;
-        for (Map.Entry<String, String> entry : replacements.entrySet()) {
-            output = output.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return output;
-    }
-
     private void createPoll() {
         pollManager.createPoll(
             player.getUniqueId(),
@@ -1,23 +1,25 @@
 package hu.exteron.ogpoll.gui;
 
-import com.artillexstudios.axapi.scheduler.ScheduledTask;
 import com.artillexstudios.axapi.scheduler.Scheduler;
 import com.artillexstudios.axapi.utils.StringUtils;
 import dev.triumphteam.gui.builder.item.ItemBuilder;
 import dev.triumphteam.gui.guis.Gui;
-import dev.triumphteam.gui.guis.GuiItem;
-import dev.triumphteam.gui.guis.PaginatedGui;
 import hu.exteron.ogpoll.OGPoll;
 import hu.exteron.ogpoll.config.ConfigManager;
+import hu.exteron.ogpoll.config.GuiTemplates;
+import hu.exteron.ogpoll.config.TextTemplate;
+import hu.exteron.ogpoll.database.DatabaseExecutor;
 import hu.exteron.ogpoll.database.DatabaseManager;
+import hu.exteron.ogpoll.database.PollCursor;
+import hu.exteron.ogpoll.managers.PollChange;
 import hu.exteron.ogpoll.models.Poll;
 import hu.exteron.ogpoll.models.PollOption;
+import hu.exteron.ogpoll.models.VoteTally;
 import hu.exteron.ogpoll.utils.GuiCooldowns;
-import hu.exteron.ogpoll.utils.ProgressBarUtil;
+import hu.exteron.ogpoll.utils.ThreadUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.ItemFlag;
@@ -28,8 +30,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -37,124 +38,131 @@ public final class FinishedPollsGUI {
     private final OGPoll plugin;
     private final ConfigManager configManager;
     private final DatabaseManager databaseManager;
-    private static final Map<UUID, ScheduledTask> updateTasks = new ConcurrentHashMap<>();
+    private final GuiTicker ticker;
 
     public FinishedPollsGUI(OGPoll plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.databaseManager = plugin.getDatabaseManager();
+        this.ticker = plugin.getGuiTicker();
     }
 
     public void open(Player player) {
-        cancelUpdateTask(player.getUniqueId());
-
-        int rows = configManager.getGuiConfig().getInt("finished-polls-gui.layout.rows", 6);
-        String titleRaw = configManager.getGuiConfig().getString("finished-polls-gui.layout.title", "Finished Polls");
-        List<Integer> decorationSlots = parseSlots(
-            configManager.getGuiConfig().getList("finished-polls-gui.decoration.slots", List.of())
-        );
-
-        int prevSlot = configManager.getGuiConfig().getInt("finished-polls-gui.navigation.previous.slot", -1);
-        int nextSlot = configManager.getGuiConfig().getInt("finished-polls-gui.navigation.next.slot", -1);
-        int backSlot = configManager.getGuiConfig().getInt("finished-polls-gui.navigation.back.slot", -1);
-
-        Set<Integer> reservedSlots = new HashSet<>(decorationSlots);
-        if (prevSlot >= 0) reservedSlots.add(prevSlot);
-        if (nextSlot >= 0) reservedSlots.add(nextSlot);
-        if (backSlot >= 0) reservedSlots.add(backSlot);
+        GuiTemplates.Finished template = configManager.getGuiTemplates().finished();
+        Set<Integer> reservedSlots = new HashSet<>();
+        for (int slot : template.decoration().slots()) reservedSlots.add(slot);
+        for (GuiTemplates.Item nav : List.of(template.previous(), template.next(), template.back())) {
+            if (nav.isEnabled()) reservedSlots.add(nav.slot());
+        }
 
-        int pageSize = Math.max(1, rows * 9 - reservedSlots.size());
+        Pager pager = new Pager(template.rows(), reservedSlots);
+        PageState state = new PageState(pager, new SlotDiff(), new PageCache<>(pager.pageSize(), this::cursorOf, this::loadPage));
 
-        PaginatedGui gui = Gui.paginated()
-            .rows(rows)
-            .title(StringUtils.format(titleRaw.replace("{current_page}", "1").replace("{max_page}", "1")))
-            .pageSize(pageSize)
+        String initialTitle = template.title().resolve(Map.of("current_page", "1", "max_page", "1"));
+        state.diff.titleChanged(initialTitle);
+        Gui gui = Gui.gui()
+            .rows(template.rows())
+            .title(StringUtils.format(initialTitle))
             .disableAllInteractions()
             .create();
 
-        GuiItem decorationItem = buildDecorationItem();
-        addDecoration(gui, decorationSlots, decorationItem);
+        for (int slot : template.decoration().slots()) {
+            gui.setItem(slot, template.decoration().item());
+        }
 
-        gui.setCloseGuiAction(event -> cancelUpdateTask(player.getUniqueId()));
+        if (template.back().isEnabled()) {
+            gui.setItem(template.back().slot(), template.back().asGuiItem(event -> {
+                event.setCancelled(true);
+                if (GuiCooldowns.isOnCooldown(event.getWhoClicked().getUniqueId())) return;
+                GuiCooldowns.trigger(event.getWhoClicked().getUniqueId());
+                Player p = (Player) event.getWhoClicked();
+                new PollListGUI(plugin).open(p);
+            }));
+        }
+
+        gui.setCloseGuiAction(event -> ticker.close(player.getUniqueId(), gui));
         Scheduler.get().run(() -> gui.open(player));
 
-        databaseManager.getFinishedPolls(polls -> {
-            if (polls.isEmpty()) {
-                addNoPollsItem(gui);
-                updateNavigation(gui, decorationItem, titleRaw, 1);
-                gui.update();
-                return;
+        loadPolls(player, gui, state, template);
+        ticker.register(player, gui, () -> renderPage(gui, state, template), change -> {
+            // The list only changes when a poll closes or is deleted, which is rare enough to just reload it
+            if (change.type() == PollChange.Type.POLL_CLOSED || change.type() == PollChange.Type.POLL_DELETED) {
+                state.pages.invalidate();
+                loadPolls(player, gui, state, template);
             }
+        });
+    }
 
-            gui.clearPageItems();
-            Map<Integer, PollDisplayData> pollDataMap = new ConcurrentHashMap<>();
-            int[] remaining = {polls.size()};
-
-            for (Poll poll : polls) {
-                databaseManager.getVoteCounts(poll.getId(), counts -> {
-                    int totalVotes = counts.values().stream().mapToInt(Integer::intValue).sum();
-                    pollDataMap.put(poll.getId(), new PollDisplayData(totalVotes, counts, poll.getOptions()));
-                    synchronized (remaining) {
-                        remaining[0]--;
-                        if (remaining[0] == 0) {
-                            for (Poll p : polls) {
-                                PollDisplayData data = pollDataMap.get(p.getId());
-                                if (data != null) {
-                                    gui.addItem(createPollItem(p, data));
-                                }
-                            }
-                            updateNavigation(gui, decorationItem, titleRaw, 0);
-                            gui.update();
-                            startUpdateTask(player, gui, polls, pollDataMap, titleRaw, decorationItem);
-                        }
-                    }
-                }, t -> {
-                    pollDataMap.put(poll.getId(), new PollDisplayData(0, Map.of(), poll.getOptions()));
-                    synchronized (remaining) {
-                        remaining[0]--;
-                        if (remaining[0] == 0) {
-                            for (Poll p : polls) {
-                                PollDisplayData data = pollDataMap.get(p.getId());
-                                if (data != null) {
-                                    gui.addItem(createPollItem(p, data));
-                                }
-                            }
-                            updateNavigation(gui, decorationItem, titleRaw, 0);
-                            gui.update();
-                            startUpdateTask(player, gui, polls, pollDataMap, titleRaw, decorationItem);
-                        }
-                    }
-                });
+    // Vote counts come from the options joined into the page query, so a page is a single round trip
+    private void loadPage(PollCursor after, int offset, int limit, boolean prefetch,
+                          Consumer<List<PollDisplayData>> onSuccess, Consumer<Throwable> onError) {
+        DatabaseExecutor.Priority priority = prefetch ? DatabaseExecutor.Priority.BACKGROUND : DatabaseExecutor.Priority.READ;
+        CompletableFuture<List<PollDisplayData>> page = databaseManager.getFinishedPolls(after, offset, limit, priority)
+            .thenApply(this::toDisplayData);
+        ThreadUtils.onMain(page, onSuccess, onError);
+    }
+
+    private List<PollDisplayData> toDisplayData(List<Poll> polls) {
+        List<PollDisplayData> page = new ArrayList<>(polls.size());
+        for (Poll poll : polls) {
+            VoteTally.Builder tally = VoteTally.builder();
+            for (PollOption option : poll.getOptions()) {
+                tally.add(option.getDisplayOrder(), option.getVoteCount());
             }
+            page.add(new PollDisplayData(poll, tally.build(), poll.getOptions()));
+        }
+        return page;
+    }
+
+    private PollCursor cursorOf(PollDisplayData data) {
+        return new PollCursor(getClosedAt(data.poll), data.poll.getId());
+    }
+
+    private void loadPolls(Player player, Gui gui, PageState state, GuiTemplates.Finished template) {
+        ThreadUtils.onMain(databaseManager.countFinishedPolls(), total -> {
+            state.pager.setTotal(total);
+            showPage(player, gui, state, template);
         }, throwable -> configManager.sendMessage(player, "error.database"));
     }
 
-    private void startUpdateTask(Player player, PaginatedGui gui, List<Poll> polls,
-                                 Map<Integer, PollDisplayData> pollDataMap, String titleRaw, GuiItem decorationItem) {
-        ScheduledTask task = Scheduler.get().runTimer(() -> {
-            if (!player.isOnline() || player.getOpenInventory().getTopInventory() != gui.getInventory()) {
-                cancelUpdateTask(player.getUniqueId());
+    private void showPage(Player player, Gui gui, PageState state, GuiTemplates.Finished template) {
+        int page = state.pager.page();
+        state.pages.get(page, entries -> {
+            if (state.pager.page() != page) {
                 return;
             }
+            state.visible = entries;
+            renderPage(gui, state, template);
+            updateNavigation(player, gui, state, template);
+            state.pages.prefetchAround(page, state.pager.pageCount());
+        }, throwable -> configManager.sendMessage(player, "error.database"));
+    }
 
-            for (int index = 0; index < polls.size(); index++) {
-                Poll poll = polls.get(index);
-                PollDisplayData data = pollDataMap.get(poll.getId());
-                if (data == null) {
-                    continue;
-                }
-
-                ItemStack newItem = buildPollItemStack(poll, data);
-                gui.updatePageItem(index, newItem);
+    private void renderPage(Gui gui, PageState state, GuiTemplates.Finished template) {
+        List<PollDisplayData> visible = state.visible;
+        int[] slots = state.pager.slots();
+        int noPollsSlot = template.noPolls().slot();
+        boolean empty = state.pager.total() == 0;
+        boolean noPollsOnPage = false;
+
+        for (int i = 0; i < slots.length; i++) {
+            noPollsOnPage |= slots[i] == noPollsSlot;
+            if (i < visible.size()) {
+                PollDisplayData data = visible.get(i);
+                state.diff.updateItem(gui, slots[i], buildPollItemStack(data.poll, data), event -> event.setCancelled(true));
+            } else if (empty && slots[i] == noPollsSlot) {
+                state.diff.updateItem(gui, slots[i], template.noPolls().stack(), event -> event.setCancelled(true));
+            } else {
+                state.diff.clear(gui, slots[i]);
             }
-        }, 20L, 20L);
-
-        updateTasks.put(player.getUniqueId(), task);
-    }
+        }
 
-    private GuiItem createPollItem(Poll poll, PollDisplayData data) {
-        ItemStack itemStack = buildPollItemStack(poll, data);
-        return ItemBuilder.from(itemStack).asGuiItem(event -> event.setCancelled(true));
+        // A no-polls slot outside the page area is not covered by the loop above
+        if (!noPollsOnPage && empty) {
+            state.diff.updateItem(gui, noPollsSlot, template.noPolls().stack(), event -> event.setCancelled(true));
+        } else if (!noPollsOnPage) {
+            state.diff.clear(gui, noPollsSlot);
+        }
     }
 
     private ItemStack buildPollItemStack(Poll poll, PollDisplayData data) {
@@ -164,25 +172,17 @@ public final class FinishedPollsGUI {
         Map<String, String> replacements = new HashMap<>();
         replacements.put("question", poll.getQuestion());
         replacements.put("closed_ago", closedAgo);
-        replacements.put("total_votes", String.valueOf(data.totalVotes));
+        replacements.put("total_votes", String.valueOf(data.tally.getTotal()));
         replacements.put("creator", creatorName);
-        if (!data.options.isEmpty()) {
-            replacements.put("vote_ratios", buildVoteRatios(data.options, data.voteCounts, data.totalVotes));
-        }
-
-        String itemKey = "finished-polls-gui.items.poll-item";
-        String nameRaw = configManager.getGuiConfig().getString(itemKey + ".name", "");
-        List<String> loreRaw = configManager.getGuiConfig().getStringList(itemKey + ".lore");
-        Material material = parseMaterial(configManager.getGuiConfig().getString(itemKey + ".material", "BOOK"));
-
-        List<Component> lore = formatLore(loreRaw, replacements);
+        List<Component> voteRatios = data.options.isEmpty() ? List.of() : buildVoteRatios(data.options, data.tally);
+        GuiTemplates.Item itemTemplate = configManager.getGuiTemplates().finished().poll();
+        List<Component> lore = formatLore(itemTemplate.lore(), replacements, voteRatios);
 
-        ItemBuilder builder = ItemBuilder.from(material)
-            .name(format(nameRaw, replacements))
+        ItemBuilder builder = ItemBuilder.from(itemTemplate.material())
+            .name(itemTemplate.name().render(replacements))
             .lore(lore);
 
-        boolean glow = configManager.getGuiConfig().getBoolean(itemKey + ".glow", false);
-        if (glow) {
+        if (itemTemplate.glow()) {
             builder.glow(true);
         }
 
@@ -198,26 +198,19 @@ public final class FinishedPollsGUI {
         return poll.getExpiresAt();
     }
 
-    private String buildVoteRatios(List<PollOption> options, Map<Integer, Integer> voteCounts, int totalVotes) {
-        StringBuilder sb = new StringBuilder();
-        int barLength = configManager.getGuiConfig().getInt("voting-gui.progress_bar.length", 20);
-        String filledChar = configManager.getGuiConfig().getString("voting-gui.progress_bar.filled_char", "|");
-        String emptyChar = configManager.getGuiConfig().getString("voting-gui.progress_bar.empty_char", "|");
+    private List<Component> buildVoteRatios(List<PollOption> options, VoteTally tally) {
+        int totalVotes = tally.getTotal();
+        GuiTemplates.ProgressBar progressBar = configManager.getGuiTemplates().progressBar();
+        List<Component> lines = new ArrayList<>(options.size() * 2);
 
-        for (int i = 0; i < options.size(); i++) {
-            PollOption opt = options.get(i);
-            int votes = voteCounts.getOrDefault(opt.getId(), 0);
+        for (PollOption opt : options) {
+            int votes = tally.getVotes(opt);
             double pct = totalVotes > 0 ? (votes * 100.0 / totalVotes) : 0;
-            String progressBar = ProgressBarUtil.createProgressBar(
-                votes, totalVotes, barLength, filledChar, emptyChar, configManager.getGuiConfig()
-            );
-            if (i > 0) sb.append("\n");
-            sb.append("<gray>").append(opt.getOptionText()).append("</gray> <white>")
-                .append(votes).append("</white> <dark_gray>(")
-                .append(String.format("%.1f", pct)).append("%)</dark_gray>");
-            sb.append("\n").append(progressBar);
+            lines.add(StringUtils.format("<gray>" + opt.getOptionText() + "</gray> <white>" + votes
+                + "</white> <dark_gray>(" + String.format("%.1f", pct) + "%)</dark_gray>"));
+            lines.add(progressBar.component(votes, totalVotes));
         }
-        return sb.toString();
+        return lines;
     }
 
     private String getCreatorName(Poll poll) {
@@ -225,100 +218,55 @@ public final class FinishedPollsGUI {
         return name != null && !name.isEmpty() ? name : "Unknown";
     }
 
-    private void addNoPollsItem(PaginatedGui gui) {
-        String base = "finished-polls-gui.items.no-polls";
-        int slot = configManager.getGuiConfig().getInt(base + ".slot", 22);
-        Material material = parseMaterial(configManager.getGuiConfig().getString(base + ".material", "BARRIER"));
-        String name = configManager.getGuiConfig().getString(base + ".name", "No Finished Polls");
-        List<String> loreRaw = configManager.getGuiConfig().getStringList(base + ".lore");
-        List<Component> lore = formatLore(loreRaw, Map.of());
-        gui.setItem(slot, ItemBuilder.from(material).name(format(name, Map.of())).lore(lore).asGuiItem());
-    }
-
-    private GuiItem buildDecorationItem() {
-        Material material = parseMaterial(configManager.getGuiConfig().getString(
-            "finished-polls-gui.decoration.material", "GREEN_STAINED_GLASS_PANE"));
-        String name = configManager.getGuiConfig().getString("finished-polls-gui.decoration.name", " ");
-        return ItemBuilder.from(material).name(format(name, Map.of())).asGuiItem();
-    }
+    private void updateNavigation(Player player, Gui gui, PageState state, GuiTemplates.Finished template) {
+        Pager pager = state.pager;
+        ItemStack decoration = template.decoration().item().getItemStack();
 
-    private void addDecoration(PaginatedGui gui, List<Integer> slots, GuiItem item) {
-        for (int slot : slots) {
-            gui.setItem(slot, item);
-        }
-    }
-
-    private void updateNavigation(PaginatedGui gui, GuiItem decorationItem, String titleRaw, int maxPagesOverride) {
-        int prevSlot = configManager.getGuiConfig().getInt("finished-polls-gui.navigation.previous.slot", -1);
-        int nextSlot = configManager.getGuiConfig().getInt("finished-polls-gui.navigation.next.slot", -1);
-        int backSlot = configManager.getGuiConfig().getInt("finished-polls-gui.navigation.back.slot", -1);
-
-        int prevPage = Math.max(1, gui.getCurrentPageNum() - 1);
-        int nextPage = Math.min(Math.max(1, gui.getPagesNum()), gui.getCurrentPageNum() + 1);
-        Map<String, String> prevReplacements = Map.of("prev_page", String.valueOf(prevPage));
-        Map<String, String> nextReplacements = Map.of("next_page", String.valueOf(nextPage));
-
-        if (prevSlot >= 0) {
-            if (gui.getCurrentPageNum() > 1) {
-                gui.setItem(prevSlot, buildNavItem("finished-polls-gui.navigation.previous", prevReplacements, event -> {
+        if (template.previous().isEnabled()) {
+            int prevSlot = template.previous().slot();
+            if (pager.hasPrevious()) {
+                Map<String, String> prevReplacements = Map.of("prev_page", String.valueOf(pager.page()));
+                state.diff.updateItem(gui, prevSlot, buildNavStack(template.previous(), prevReplacements), event -> {
                     event.setCancelled(true);
                     if (GuiCooldowns.isOnCooldown(event.getWhoClicked().getUniqueId())) return;
                     GuiCooldowns.trigger(event.getWhoClicked().getUniqueId());
-                    if (gui.previous()) updateNavigation(gui, decorationItem, titleRaw, 0);
-                }));
+                    if (pager.previous()) showPage(player, gui, state, template);
+                });
             } else {
-                gui.setItem(prevSlot, decorationItem);
+                state.diff.updateItem(gui, prevSlot, decoration, event -> event.setCancelled(true));
             }
         }
 
-        if (nextSlot >= 0) {
-            if (gui.getCurrentPageNum() < gui.getPagesNum()) {
-                gui.setItem(nextSlot, buildNavItem("finished-polls-gui.navigation.next", nextReplacements, event -> {
+        if (template.next().isEnabled()) {
+            int nextSlot = template.next().slot();
+            if (pager.hasNext()) {
+                Map<String, String> nextReplacements = Map.of("next_page", String.valueOf(pager.page() + 2));
+                state.diff.updateItem(gui, nextSlot, buildNavStack(template.next(), nextReplacements), event -> {
                     event.setCancelled(true);
                     if (GuiCooldowns.isOnCooldown(event.getWhoClicked().getUniqueId())) return;
                     GuiCooldowns.trigger(event.getWhoClicked().getUniqueId());
-                    if (gui.next()) updateNavigation(gui, decorationItem, titleRaw, 0);
-                }));
+                    if (pager.next()) showPage(player, gui, state, template);
+                });
             } else {
-                gui.setItem(nextSlot, decorationItem);
+                state.diff.updateItem(gui, nextSlot, decoration, event -> event.setCancelled(true));
             }
         }
 
-        if (backSlot >= 0) {
-            gui.setItem(backSlot, buildNavItem("finished-polls-gui.navigation.back", Map.of(), event -> {
-                event.setCancelled(true);
-                if (GuiCooldowns.isOnCooldown(event.getWhoClicked().getUniqueId())) return;
-                GuiCooldowns.trigger(event.getWhoClicked().getUniqueId());
-                Player p = (Player) event.getWhoClicked();
-                cancelUpdateTask(p.getUniqueId());
-                new PollListGUI(plugin).open(p);
-            }));
+        String title = template.title().resolve(Map.of(
+            "current_page", String.valueOf(pager.page() + 1),
+            "max_page", String.valueOf(pager.pageCount())
+        ));
+        if (state.diff.titleChanged(title)) {
+            gui.updateTitle(StringUtils.format(title));
+            RenderStats.recordFullUpdate();
         }
-
-        int maxPages = maxPagesOverride > 0 ? maxPagesOverride : Math.max(1, gui.getPagesNum());
-        String resolved = titleRaw
-            .replace("{current_page}", String.valueOf(gui.getCurrentPageNum()))
-            .replace("{max_page}", String.valueOf(maxPages));
-        gui.updateTitle(StringUtils.format(resolved));
     }
 
-    private GuiItem buildNavItem(
-        String base,
-        Map<String, String> replacements,
-        Consumer<InventoryClickEvent> onClick
-    ) {
-        Material material = parseMaterial(configManager.getGuiConfig().getString(base + ".material", "ARROW"));
-        String name = configManager.getGuiConfig().getString(base + ".name", "");
-        List<String> loreRaw = configManager.getGuiConfig().getStringList(base + ".lore");
-        return ItemBuilder.from(material)
-            .name(format(name, replacements))
-            .lore(formatLore(loreRaw, replacements))
-            .asGuiItem(onClick::accept);
-    }
-
-    public static void cancelUpdateTask(UUID playerId) {
-        ScheduledTask task = updateTasks.remove(playerId);
-        if (task != null) task.cancel();
+    private ItemStack buildNavStack(GuiTemplates.Item template, Map<String, String> replacements) {
+        return ItemBuilder.from(template.material())
+            .name(template.name().render(replacements))
+            .lore(formatLore(template.lore(), replacements, List.of()))
+            .build();
     }
 
     private String formatDuration(long millis) {
@@ -333,43 +281,18 @@ public final class FinishedPollsGUI {
         return builder.toString();
     }
 
-    private Component format(String input, Map<String, String> replacements) {
-        if (input == null) return Component.empty();
-        return StringUtils.format(applyReplacements(input, replacements));
-    }
-
-    private List<Component> formatLore(List<String> lines, Map<String, String> replacements) {
-        List<Component> components = new ArrayList<>();
-        if (lines == null) return components;
-        for (String line : lines) {
-            if (line.contains("{vote_ratios}")) {
-                String ratios = replacements.getOrDefault("vote_ratios", "");
-                if (!ratios.isEmpty()) {
-                    for (String ratioLine : ratios.split("\n")) {
-                        components.add(StringUtils.format(ratioLine));
-                    }
-                }
+    private List<Component> formatLore(List<TextTemplate> lines, Map<String, String> replacements, List<Component> voteRatios) {
+        List<Component> components = new ArrayList<>(lines.size() + voteRatios.size());
+        for (TextTemplate line : lines) {
+            if (line.contains("vote_ratios")) {
+                components.addAll(voteRatios);
             } else {
-                components.add(format(line, replacements));
+                components.add(line.render(replacements));
             }
         }
         return components;
     }
 
-    private String applyReplacements(String input, Map<String, String> replacements) {
-        String output = input;
-        for (Map.Entry<String, String> entry : replacements.entrySet()) {
-            output = output.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return output;
-    }
-
-    private Material parseMaterial(String materialName) {
-        if (materialName == null || materialName.isEmpty()) return Material.BOOK;
-        try { return Material.valueOf(materialName.toUpperCase()); }
-        catch (IllegalArgumentException ex) { return Material.BOOK; }
-    }
-
     private void hideBookOriginalTag(ItemStack item) {
         if (item == null || item.getType() != Material.WRITTEN_BOOK) {
             return;
@@ -382,36 +305,19 @@ public final class FinishedPollsGUI {
         item.setItemMeta(meta);
     }
 
-    private List<Integer> parseSlots(List<Object> rawSlots) {
-        List<Integer> slots = new ArrayList<>();
-        for (Object entry : rawSlots) {
-            if (entry == null) continue;
-            if (entry instanceof Number number) {
-                slots.add(number.intValue());
-                continue;
-            }
-            String value = entry.toString().trim();
-            if (value.isEmpty()) continue;
-            if (value.contains("-")) {
-                String[] parts = value.split("-", 2);
-                int start = parseSlotNumber(parts[0]);
-                int end = parseSlotNumber(parts[1]);
-                if (start < 0 || end < 0) continue;
-                for (int i = Math.min(start, end); i <= Math.max(start, end); i++) {
-                    slots.add(i);
-                }
-                continue;
-            }
-            int slot = parseSlotNumber(value);
-            if (slot >= 0) slots.add(slot);
-        }
-        return slots;
-    }
+    private record PollDisplayData(Poll poll, VoteTally tally, List<PollOption> options) {}
 
-    private int parseSlotNumber(String value) {
-        try { return Integer.parseInt(value.trim()); }
-        catch (NumberFormatException ex) { return -1; }
-    }
+    // Per-viewer paging state; touched only from the main thread
+    private static final class PageState {
+        private final Pager pager;
+        private final SlotDiff diff;
+        private final PageCache<PollDisplayData, PollCursor> pages;
+        private List<PollDisplayData> visible = List.of();
 
-    private record PollDisplayData(int totalVotes, Map<Integer, Integer> voteCounts, List<PollOption> options) {}
+        private PageState(Pager pager, SlotDiff diff, PageCache<PollDisplayData, PollCursor> pages) {
+            this.pager = pager;
+            this.diff = diff;
+            this.pages = pages;
+        }
+    }
 }
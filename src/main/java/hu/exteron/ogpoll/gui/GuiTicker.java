@@ -0,0 +1,140 @@
+package hu.exteron.ogpoll.gui;
+
+import com.artillexstudios.axapi.scheduler.ScheduledTask;
+import com.artillexstudios.axapi.scheduler.Scheduler;
+import dev.triumphteam.gui.guis.BaseGui;
+import hu.exteron.ogpoll.config.ConfigManager;
+import hu.exteron.ogpoll.managers.PollChange;
+import hu.exteron.ogpoll.managers.PollManager;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Refreshes every open poll GUI from one timer, spreading due views across ticks within a time budget
+public final class GuiTicker {
+    private static final long REFRESH_INTERVAL_TICKS = 20L;
+
+    private final ConfigManager configManager;
+    private final PollManager pollManager;
+    private final Map<UUID, View> views = new ConcurrentHashMap<>();
+    private final Queue<View> queue = new ConcurrentLinkedQueue<>();
+    private final Consumer<PollChange> listener = this::dispatch;
+    private volatile long currentTick = 0L;
+    private ScheduledTask tickTask;
+
+    public GuiTicker(ConfigManager configManager, PollManager pollManager) {
+        this.configManager = configManager;
+        this.pollManager = pollManager;
+    }
+
+    public void start() {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+        pollManager.subscribe(listener);
+        tickTask = Scheduler.get().runTimer(this::tick, 1L, 1L);
+    }
+
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        pollManager.unsubscribe(listener);
+        views.clear();
+        queue.clear();
+    }
+
+    // A player has one inventory open at a time, so a new view replaces whatever they were looking at
+    void register(Player player, BaseGui gui, Runnable refresh, Consumer<PollChange> onChange) {
+        View view = new View(player, gui, refresh, onChange);
+        view.dueTick = currentTick + REFRESH_INTERVAL_TICKS;
+        View previous = views.put(player.getUniqueId(), view);
+        if (previous != null) {
+            previous.closed = true;
+        }
+        queue.add(view);
+    }
+
+    // Only drops the view if it still belongs to this gui, since the close event of the old menu
+    // can arrive after the next menu has already registered
+    void close(UUID playerId, BaseGui gui) {
+        View view = views.get(playerId);
+        if (view != null && view.gui == gui && views.remove(playerId, view)) {
+            view.closed = true;
+        }
+    }
+
+    public void close(UUID playerId) {
+        View view = views.remove(playerId);
+        if (view != null) {
+            view.closed = true;
+        }
+    }
+
+    public int getOpenViews() {
+        return views.size();
+    }
+
+    private void dispatch(PollChange change) {
+        for (View view : views.values()) {
+            if (!view.closed) {
+                view.onChange.accept(change);
+            }
+        }
+    }
+
+    private void tick() {
+        long tick = ++currentTick;
+        long deadline = System.nanoTime() + configManager.getGuiRefreshBudgetMicros() * 1000L;
+        boolean refreshed = false;
+
+        View view;
+        while ((view = queue.peek()) != null) {
+            if (view.closed) {
+                queue.poll();
+                continue;
+            }
+            if (view.dueTick > tick) {
+                break;
+            }
+            if (refreshed && System.nanoTime() >= deadline) {
+                RenderStats.recordBudgetExceeded();
+                break;
+            }
+            queue.poll();
+
+            Player player = view.player;
+            if (!player.isOnline() || player.getOpenInventory().getTopInventory() != view.gui.getInventory()) {
+                close(player.getUniqueId(), view.gui);
+                continue;
+            }
+
+            view.refresh.run();
+            refreshed = true;
+            view.dueTick = tick + REFRESH_INTERVAL_TICKS;
+            queue.add(view);
+        }
+    }
+
+    private static final class View {
+        private final Player player;
+        private final BaseGui gui;
+        private final Runnable refresh;
+        private final Consumer<PollChange> onChange;
+        private long dueTick;
+        private volatile boolean closed = false;
+
+        private View(Player player, BaseGui gui, Runnable refresh, Consumer<PollChange> onChange) {
+            this.player = player;
+            this.gui = gui;
+            this.refresh = refresh;
+            this.onChange = onChange;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package hu.exteron.ogpoll.gui;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// One rendered item per (poll, variant), shared by every viewer until the tally version or time bucket moves on.
+// Cached stacks are handed out as-is, so callers must clone before mutating them.
+public final class ItemRenderCache {
+    private static final Map<Slot, Rendered> CACHE = new ConcurrentHashMap<>();
+
+    private ItemRenderCache() {
+    }
+
+    public static ItemStack get(int pollId, String variant, long version, long bucket, Supplier<ItemStack> renderer) {
+        if (version < 0L) {
+            return renderer.get();
+        }
+        Slot slot = new Slot(pollId, variant);
+        Rendered rendered = CACHE.get(slot);
+        if (rendered != null && rendered.version == version && rendered.bucket == bucket) {
+            return rendered.item;
+        }
+        ItemStack item = renderer.get();
+        CACHE.put(slot, new Rendered(version, bucket, item));
+        return item;
+    }
+
+    public static void invalidate(int pollId) {
+        CACHE.keySet().removeIf(slot -> slot.pollId == pollId);
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private record Slot(int pollId, String variant) {}
+
+    private record Rendered(long version, long bucket, ItemStack item) {}
+}
@@ -0,0 +1,117 @@
+package hu.exteron.ogpoll.gui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Keeps the visible page of a database-backed list and prefetches its neighbours, paging by cursor instead of offset
+final class PageCache<T, C> {
+    private final int pageSize;
+    private final Function<T, C> cursorOf;
+    private final Loader<T, C> loader;
+    private final Map<Integer, List<T>> pages = new HashMap<>();
+    private final Map<Integer, C> cursors = new HashMap<>();
+    private final Map<Integer, List<Waiter<T>>> waiting = new HashMap<>();
+    private long generation = 0L;
+
+    PageCache(int pageSize, Function<T, C> cursorOf, Loader<T, C> loader) {
+        this.pageSize = pageSize;
+        this.cursorOf = cursorOf;
+        this.loader = loader;
+    }
+
+    void get(int page, Consumer<List<T>> callback, Consumer<Throwable> onError) {
+        List<T> cached;
+        synchronized (this) {
+            cached = pages.get(page);
+            if (cached == null) {
+                List<Waiter<T>> waiters = waiting.get(page);
+                if (waiters != null) {
+                    waiters.add(new Waiter<>(callback, onError));
+                    return;
+                }
+                waiters = new ArrayList<>();
+                waiters.add(new Waiter<>(callback, onError));
+                waiting.put(page, waiters);
+            }
+        }
+        if (cached != null) {
+            callback.accept(cached);
+            return;
+        }
+        load(page, false);
+    }
+
+    void prefetchAround(int page, int pageCount) {
+        synchronized (this) {
+            pages.keySet().removeIf(cached -> Math.abs(cached - page) > 1);
+        }
+        for (int neighbour : new int[]{page - 1, page + 1}) {
+            if (neighbour < 0 || neighbour >= pageCount) {
+                continue;
+            }
+            synchronized (this) {
+                if (pages.containsKey(neighbour) || waiting.containsKey(neighbour)) {
+                    continue;
+                }
+                waiting.put(neighbour, new ArrayList<>());
+            }
+            load(neighbour, true);
+        }
+    }
+
+    // Loads in flight are thrown away, and cursors go too since rows added above them move every page boundary
+    synchronized void invalidate() {
+        pages.clear();
+        waiting.clear();
+        cursors.clear();
+        generation++;
+    }
+
+    private void load(int page, boolean prefetch) {
+        long started;
+        C after;
+        synchronized (this) {
+            started = generation;
+            after = page == 0 ? null : cursors.get(page);
+        }
+        loader.load(after, page * pageSize, pageSize, prefetch, entries -> {
+            List<Waiter<T>> waiters;
+            synchronized (this) {
+                if (generation != started) {
+                    return;
+                }
+                pages.put(page, entries);
+                if (!entries.isEmpty()) {
+                    cursors.put(page + 1, cursorOf.apply(entries.get(entries.size() - 1)));
+                }
+                waiters = waiting.remove(page);
+            }
+            if (waiters != null) {
+                waiters.forEach(waiter -> waiter.callback.accept(entries));
+            }
+        }, throwable -> {
+            List<Waiter<T>> waiters;
+            synchronized (this) {
+                if (generation != started) {
+                    return;
+                }
+                waiters = waiting.remove(page);
+            }
+            if (waiters != null) {
+                waiters.forEach(waiter -> waiter.onError.accept(throwable));
+            }
+        });
+    }
+
+    private record Waiter<T>(Consumer<List<T>> callback, Consumer<Throwable> onError) {}
+
+    // after is null for the first page, or when no cursor is known and the loader has to fall back to offset.
+    // prefetch marks loads nobody is looking at yet, which the loader may run at a lower priority.
+    interface Loader<T, C> {
+        void load(C after, int offset, int limit, boolean prefetch, Consumer<List<T>> onSuccess, Consumer<Throwable> onError);
+    }
+}
@@ -0,0 +1,77 @@
+package hu.exteron.ogpoll.gui;
+
+import java.util.Arrays;
+import java.util.Set;
+
+// Page position over a plain Gui. Entries fill the slots no static item reserves, in slot order,
+// and only the visible page is ever rendered into them.
+final class Pager {
+    private final int[] slots;
+    private int page = 0;
+    private int total = 0;
+
+    Pager(int rows, Set<Integer> reservedSlots) {
+        int[] free = new int[rows * 9];
+        int count = 0;
+        for (int slot = 0; slot < rows * 9; slot++) {
+            if (!reservedSlots.contains(slot)) {
+                free[count++] = slot;
+            }
+        }
+        this.slots = Arrays.copyOf(free, Math.max(1, count));
+    }
+
+    int[] slots() {
+        return slots;
+    }
+
+    int pageSize() {
+        return slots.length;
+    }
+
+    int page() {
+        return page;
+    }
+
+    int offset() {
+        return page * slots.length;
+    }
+
+    int total() {
+        return total;
+    }
+
+    int pageCount() {
+        return Math.max(1, (total + slots.length - 1) / slots.length);
+    }
+
+    // Entries disappearing can leave the current page past the end, so it is pulled back to the last page
+    void setTotal(int total) {
+        this.total = Math.max(0, total);
+        page = Math.min(page, pageCount() - 1);
+    }
+
+    boolean hasPrevious() {
+        return page > 0;
+    }
+
+    boolean hasNext() {
+        return page < pageCount() - 1;
+    }
+
+    boolean previous() {
+        if (!hasPrevious()) {
+            return false;
+        }
+        page--;
+        return true;
+    }
+
+    boolean next() {
+        if (!hasNext()) {
+            return false;
+        }
+        page++;
+        return true;
+    }
+}
@@ -1,98 +1,120 @@
 package hu.exteron.ogpoll.gui;
 
-import com.artillexstudios.axapi.scheduler.ScheduledTask;
 import com.artillexstudios.axapi.scheduler.Scheduler;
-import com.artillexstudios.axapi.utils.StringUtils;
 import dev.triumphteam.gui.builder.item.ItemBuilder;
 import dev.triumphteam.gui.guis.Gui;
 import dev.triumphteam.gui.guis.GuiItem;
 import hu.exteron.ogpoll.OGPoll;
 import hu.exteron.ogpoll.config.ConfigManager;
+import hu.exteron.ogpoll.config.GuiTemplates;
+import hu.exteron.ogpoll.config.TextTemplate;
+import hu.exteron.ogpoll.database.DatabaseExecutor;
 import hu.exteron.ogpoll.database.DatabaseManager;
+import hu.exteron.ogpoll.managers.PollChange;
 import hu.exteron.ogpoll.managers.PollManager;
+import hu.exteron.ogpoll.managers.PollRegistry;
 import hu.exteron.ogpoll.models.Poll;
 import hu.exteron.ogpoll.models.PollOption;
+import hu.exteron.ogpoll.models.PollView;
+import hu.exteron.ogpoll.models.VoteTally;
 import hu.exteron.ogpoll.utils.GuiCooldowns;
 import hu.exteron.ogpoll.utils.ProgressBarUtil;
+import hu.exteron.ogpoll.utils.ThreadUtils;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public final class PollVotingGUI {
     private final OGPoll plugin;
     private final ConfigManager configManager;
     private final DatabaseManager databaseManager;
     private final PollManager pollManager;
-    private static final Map<UUID, ScheduledTask> updateTasks = new ConcurrentHashMap<>();
+    private final GuiTicker ticker;
 
     public PollVotingGUI(OGPoll plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.databaseManager = plugin.getDatabaseManager();
         this.pollManager = plugin.getPollManager();
+        this.ticker = plugin.getGuiTicker();
     }
 
     public void open(Player player, Poll poll) {
-        cancelUpdateTask(player.getUniqueId());
-
-        if (poll.getOptions() == null || poll.getOptions().isEmpty()) {
-            databaseManager.getPollById(poll.getId(), fetched -> {
-                if (fetched == null) {
-                    configManager.sendMessage(player, "error.poll-not-found");
-                    return;
-                }
-                openWithPoll(player, fetched);
-            }, throwable -> configManager.sendMessage(player, "error.database"));
-        } else {
-            openWithPoll(player, poll);
+        loadView(player, poll.getId(), view -> {
+            if (view == null) {
+                configManager.sendMessage(player, "error.poll-not-found");
+                return;
+            }
+            openWithView(player, view);
+        }, throwable -> configManager.sendMessage(player, "error.database"));
+    }
+
+    // Active polls are answered from the registry and vote cache; anything else is a single query
+    private void loadView(Player player, int pollId, Consumer<PollView> callback, Consumer<Throwable> onError) {
+        PollRegistry registry = pollManager.getRegistry();
+        Poll active = registry.get(pollId);
+        if (active != null && !active.getOptions().isEmpty()) {
+            Integer vote = pollManager.getVoteCache().getVote(player.getUniqueId(), pollId);
+            callback.accept(new PollView(active, registry.getTally(pollId), vote));
+            return;
         }
+        ThreadUtils.onMain(databaseManager.getPollView(pollId, player.getUniqueId()), callback, onError);
     }
 
-    private void openWithPoll(Player player, Poll poll) {
-        databaseManager.hasVoted(poll.getId(), player.getUniqueId(), hasVoted -> {
-            databaseManager.getVoteCounts(poll.getId(), counts -> {
-                databaseManager.getPlayerVote(poll.getId(), player.getUniqueId(), playerVotedOptionId -> {
-                    List<PollOption> options = poll.getOptions();
-                    int optionCount = options.size();
-                    int rows = calculateRows(optionCount);
-                    int[] slots = resolveOptionSlots(optionCount, rows);
-
-                    String titleRaw = configManager.getGuiConfig().getString("voting-gui.layout.title", "Vote Now");
-                    Gui gui = Gui.gui()
-                        .rows(rows)
-                        .title(StringUtils.format(titleRaw))
-                        .disableAllInteractions()
-                        .create();
-
-                    gui.setCloseGuiAction(event -> cancelUpdateTask(player.getUniqueId()));
-                    addDecoration(gui, rows);
-
-                    int totalVotes = counts.values().stream().mapToInt(Integer::intValue).sum();
-                    boolean showVotes = configManager.shouldShowVoteCounts();
-
-                    addQuestionInfo(gui, poll, totalVotes, showVotes, player, rows);
-                    addBackButton(gui, player, rows);
-
-                    int maxOptions = Math.min(optionCount, slots.length);
-                    for (int i = 0; i < maxOptions; i++) {
-                        PollOption option = options.get(i);
-                        int votes = counts.getOrDefault(option.getId(), 0);
-                        boolean isPlayerChoice = playerVotedOptionId != null && playerVotedOptionId == option.getId();
-                        gui.setItem(slots[i], buildOptionItem(gui, player, poll, option, votes, totalVotes, hasVoted, isPlayerChoice, showVotes, i));
-                    }
-
-                    Scheduler.get().run(() -> {
-                        gui.open(player);
-                        startUpdateTask(player, gui, poll, slots, hasVoted, showVotes, playerVotedOptionId, rows);
-                    });
-                }, throwable -> configManager.sendMessage(player, "error.database"));
-            }, throwable -> configManager.sendMessage(player, "error.database"));
-        }, throwable -> configManager.sendMessage(player, "error.database"));
+    private void openWithView(Player player, PollView view) {
+        Poll poll = view.poll();
+        VoteTally tally = view.tally();
+        Integer playerVotedOptionId = view.playerOptionId();
+        boolean hasVoted = view.hasVoted();
+
+        List<PollOption> options = poll.getOptions();
+        int optionCount = options.size();
+        int rows = calculateRows(optionCount);
+        int[] slots = resolveOptionSlots(optionCount, rows);
+
+        GuiTemplates.Voting template = configManager.getGuiTemplates().voting();
+        Gui gui = Gui.gui()
+            .rows(rows)
+            .title(template.title().render())
+            .disableAllInteractions()
+            .create();
+
+        gui.setCloseGuiAction(event -> ticker.close(player.getUniqueId(), gui));
+        addDecoration(gui, template.decoration(), rows);
+
+        int totalVotes = tally.getTotal();
+        boolean showVotes = configManager.shouldShowVoteCounts();
+
+        addQuestionInfo(gui, poll, totalVotes, showVotes);
+        addBackButton(gui, template.back(), player, rows);
+
+        int maxOptions = Math.min(optionCount, slots.length);
+        for (int i = 0; i < maxOptions; i++) {
+            PollOption option = options.get(i);
+            int votes = tally.getVotes(option);
+            boolean isPlayerChoice = playerVotedOptionId != null && playerVotedOptionId == option.getId();
+            gui.setItem(slots[i], buildOptionItem(gui, player, poll, option, votes, totalVotes, hasVoted, isPlayerChoice, showVotes, i));
+        }
+
+        SlotDiff diff = new SlotDiff();
+        Scheduler.get().run(() -> {
+            gui.open(player);
+            startUpdateTask(player, gui, diff, poll, slots, hasVoted, showVotes, playerVotedOptionId, rows);
+        });
+    }
+
+    // Only refreshes read this, so the query runs as background work that a busy database may drop
+    private void loadTally(int pollId, Consumer<VoteTally> callback, Consumer<Throwable> onError) {
+        PollRegistry registry = pollManager.getRegistry();
+        if (registry.contains(pollId)) {
+            callback.accept(registry.getTally(pollId));
+            return;
+        }
+        ThreadUtils.onMain(databaseManager.getTally(pollId, DatabaseExecutor.Priority.BACKGROUND), callback, onError);
     }
 
     private int calculateRows(int optionCount) {
@@ -112,74 +134,57 @@ public final class PollVotingGUI {
         };
     }
 
-    private void startUpdateTask(Player player, Gui gui, Poll poll, int[] slots, boolean hasVoted, boolean showVotes, Integer playerVotedOptionId, int rows) {
-        ScheduledTask task = Scheduler.get().runTimer(() -> {
-            if (!player.isOnline() || player.getOpenInventory().getTopInventory() != gui.getInventory()) {
-                cancelUpdateTask(player.getUniqueId());
+    private void startUpdateTask(Player player, Gui gui, SlotDiff diff, Poll poll, int[] slots, boolean hasVoted, boolean showVotes, Integer playerVotedOptionId, int rows) {
+        // Tallies are pushed as events; the ticker refresh only keeps the countdown moving
+        ticker.register(player, gui, () -> {
+            if (pollManager.getRegistry().contains(poll.getId())) {
+                refresh(player, gui, diff, poll, slots, hasVoted, showVotes, playerVotedOptionId, rows);
+            }
+        }, change -> {
+            if (change.pollId() != poll.getId()) {
                 return;
             }
+            if (change.type() == PollChange.Type.VOTE_RECORDED) {
+                refresh(player, gui, diff, poll, slots, hasVoted, showVotes, playerVotedOptionId, rows);
+                return;
+            }
+            if (change.type() == PollChange.Type.POLL_CLOSED || change.type() == PollChange.Type.POLL_DELETED) {
+                ticker.close(player.getUniqueId(), gui);
+                gui.close(player);
+                configManager.sendMessage(player, "error.poll-expired");
+            }
+        });
+    }
 
-            databaseManager.getVoteCounts(poll.getId(), counts -> {
-                int totalVotes = counts.values().stream().mapToInt(Integer::intValue).sum();
-
-                updateQuestionInfo(gui, poll, totalVotes, showVotes, player, rows);
-
-                List<PollOption> options = poll.getOptions();
-                int maxOptions = Math.min(options.size(), slots.length);
-                for (int i = 0; i < maxOptions; i++) {
-                    PollOption option = options.get(i);
-                    int votes = counts.getOrDefault(option.getId(), 0);
-                    boolean isPlayerChoice = playerVotedOptionId != null && playerVotedOptionId == option.getId();
-
-                    ItemStack newItem = buildOptionItemStack(poll, option, votes, totalVotes, hasVoted, isPlayerChoice, showVotes, i);
-                    gui.updateItem(slots[i], newItem);
-                }
-            }, t -> {});
-        }, 20L, 20L);
-
-        updateTasks.put(player.getUniqueId(), task);
+    private void refresh(Player player, Gui gui, SlotDiff diff, Poll poll, int[] slots, boolean hasVoted, boolean showVotes, Integer playerVotedOptionId, int rows) {
+        long version = pollManager.getRegistry().getVersion(poll.getId());
+        loadTally(poll.getId(), tally -> {
+            int totalVotes = tally.getTotal();
+
+            updateQuestionInfo(gui, diff, poll, version, totalVotes, showVotes, player, rows);
+
+            List<PollOption> options = poll.getOptions();
+            int maxOptions = Math.min(options.size(), slots.length);
+            for (int i = 0; i < maxOptions; i++) {
+                PollOption option = options.get(i);
+                int votes = tally.getVotes(option);
+                boolean isPlayerChoice = playerVotedOptionId != null && playerVotedOptionId == option.getId();
+
+                int index = i;
+                String variant = "option-" + i + (isPlayerChoice ? "-chosen" : "");
+                ItemStack newItem = ItemRenderCache.get(poll.getId(), variant, version, 0L,
+                    () -> buildOptionItemStack(poll, option, votes, totalVotes, hasVoted, isPlayerChoice, showVotes, index));
+                diff.updateItem(gui, slots[i], newItem);
+            }
+        }, t -> {});
     }
 
     private GuiItem buildOptionItem(
         Gui gui, Player player, Poll poll, PollOption option,
         int votes, int totalVotes, boolean hasVoted, boolean isPlayerChoice, boolean showVotes, int index
     ) {
-        String basePath = isPlayerChoice ? "voting-gui.items.option-item-voted" : "voting-gui.items.option-item";
-
-        String nameRaw = configManager.getGuiConfig().getString(basePath + ".name",
-            configManager.getGuiConfig().getString("voting-gui.items.option-item.name", ""));
-        List<String> loreRaw = configManager.getGuiConfig().getStringList(basePath + ".lore");
-        if (loreRaw.isEmpty()) {
-            loreRaw = configManager.getGuiConfig().getStringList("voting-gui.items.option-item.lore");
-        }
-
-        double percentage = ProgressBarUtil.calculatePercentage(votes, totalVotes);
-        String progressBar = "";
-        if (showVotes) {
-            int barLength = configManager.getGuiConfig().getInt("voting-gui.progress_bar.length", 20);
-            String filledChar = configManager.getGuiConfig().getString("voting-gui.progress_bar.filled_char", "|");
-            String emptyChar = configManager.getGuiConfig().getString("voting-gui.progress_bar.empty_char", "|");
-            progressBar = ProgressBarUtil.createProgressBar(votes, totalVotes, barLength, filledChar, emptyChar, configManager.getGuiConfig());
-        }
-
-        Map<String, String> replacements = Map.of(
-            "option", option.getOptionText(),
-            "votes", String.valueOf(votes),
-            "percentage", String.format("%.1f", percentage),
-            "progress_bar", progressBar
-        );
-
-        List<Component> lore = formatLore(loreRaw, replacements, showVotes);
-        Material material = resolveOptionMaterial(index);
-        boolean glow = configManager.getGuiConfig().getBoolean(basePath + ".glow", false);
-
-        ItemBuilder builder = ItemBuilder.from(material)
-            .name(format(nameRaw, replacements))
-            .lore(lore);
-
-        if (glow) builder.glow(true);
-
-        return builder.asGuiItem(event -> {
+        ItemStack item = buildOptionItemStack(poll, option, votes, totalVotes, hasVoted, isPlayerChoice, showVotes, index);
+        return new GuiItem(item, event -> {
             event.setCancelled(true);
             if (GuiCooldowns.isOnCooldown(player.getUniqueId())) return;
             GuiCooldowns.trigger(player.getUniqueId());
@@ -190,22 +195,13 @@ public final class PollVotingGUI {
 
     private ItemStack buildOptionItemStack(Poll poll, PollOption option, int votes, int totalVotes,
                                             boolean hasVoted, boolean isPlayerChoice, boolean showVotes, int index) {
-        String basePath = isPlayerChoice ? "voting-gui.items.option-item-voted" : "voting-gui.items.option-item";
-
-        String nameRaw = configManager.getGuiConfig().getString(basePath + ".name",
-            configManager.getGuiConfig().getString("voting-gui.items.option-item.name", ""));
-        List<String> loreRaw = configManager.getGuiConfig().getStringList(basePath + ".lore");
-        if (loreRaw.isEmpty()) {
-            loreRaw = configManager.getGuiConfig().getStringList("voting-gui.items.option-item.lore");
-        }
+        GuiTemplates.Voting template = configManager.getGuiTemplates().voting();
+        GuiTemplates.Item itemTemplate = isPlayerChoice ? template.optionVoted() : template.option();
 
         double percentage = ProgressBarUtil.calculatePercentage(votes, totalVotes);
         String progressBar = "";
         if (showVotes) {
-            int barLength = configManager.getGuiConfig().getInt("voting-gui.progress_bar.length", 20);
-            String filledChar = configManager.getGuiConfig().getString("voting-gui.progress_bar.filled_char", "|");
-            String emptyChar = configManager.getGuiConfig().getString("voting-gui.progress_bar.empty_char", "|");
-            progressBar = ProgressBarUtil.createProgressBar(votes, totalVotes, barLength, filledChar, emptyChar, configManager.getGuiConfig());
+            progressBar = configManager.getGuiTemplates().progressBar().bar(votes, totalVotes);
         }
 
         Map<String, String> replacements = Map.of(
@@ -215,22 +211,21 @@ public final class PollVotingGUI {
             "progress_bar", progressBar
         );
 
-        List<Component> lore = formatLore(loreRaw, replacements, showVotes);
-        Material material = resolveOptionMaterial(index);
-        boolean glow = configManager.getGuiConfig().getBoolean(basePath + ".glow", false);
+        ItemBuilder builder = ItemBuilder.from(template.optionMaterial(index))
+            .name(itemTemplate.name().render(replacements))
+            .lore(formatLore(itemTemplate.lore(showVotes), replacements));
 
-        ItemBuilder builder = ItemBuilder.from(material)
-            .name(format(nameRaw, replacements))
-            .lore(lore);
-
-        if (glow) builder.glow(true);
+        if (itemTemplate.glow()) builder.glow(true);
         return builder.build();
     }
 
     private void handleVote(Gui gui, Player player, Poll poll, PollOption option) {
-        cancelUpdateTask(player.getUniqueId());
+        ticker.close(player.getUniqueId(), gui);
         pollManager.vote(player.getUniqueId(), poll.getId(), option.getId(), result -> {
-            gui.close(player);
+            // A correction after the flush can arrive once the player is already in another menu
+            if (player.getOpenInventory().getTopInventory() == gui.getInventory()) {
+                gui.close(player);
+            }
             if (result.success()) {
                 configManager.sendMessage(player, "vote-success", Map.of("option", option.getOptionText()));
                 return;
@@ -250,11 +245,7 @@ public final class PollVotingGUI {
         });
     }
 
-    private void addDecoration(Gui gui, int rows) {
-        Material material = parseMaterial(configManager.getGuiConfig().getString("voting-gui.decoration.material", "GREEN_STAINED_GLASS_PANE"));
-        String name = configManager.getGuiConfig().getString("voting-gui.decoration.name", " ");
-        GuiItem item = ItemBuilder.from(material).name(format(name, Map.of())).asGuiItem();
-
+    private void addDecoration(Gui gui, GuiItem item, int rows) {
         int totalSlots = rows * 9;
         for (int i = 0; i < 9; i++) {
             gui.setItem(i, item);
@@ -268,52 +259,29 @@ public final class PollVotingGUI {
         }
     }
 
-    private void addBackButton(Gui gui, Player player, int rows) {
-        int slot = rows * 9 - 5;
-        Material material = parseMaterial(configManager.getGuiConfig().getString("voting-gui.navigation.back.material", "ARROW"));
-        String nameRaw = configManager.getGuiConfig().getString("voting-gui.navigation.back.name", "Back");
-        List<String> loreRaw = configManager.getGuiConfig().getStringList("voting-gui.navigation.back.lore");
-
-                gui.setItem(slot, ItemBuilder.from(material)
-                    .name(format(nameRaw, Map.of()))
-                    .lore(formatLore(loreRaw, Map.of(), true))
-                    .asGuiItem(event -> {
-                        event.setCancelled(true);
-                        if (GuiCooldowns.isOnCooldown(player.getUniqueId())) return;
-                        GuiCooldowns.trigger(player.getUniqueId());
-                        cancelUpdateTask(player.getUniqueId());
-                        new PollListGUI(plugin).open(player);
-                    }));
+    private void addBackButton(Gui gui, GuiTemplates.Item back, Player player, int rows) {
+        gui.setItem(rows * 9 - 5, back.asGuiItem(event -> {
+            event.setCancelled(true);
+            if (GuiCooldowns.isOnCooldown(player.getUniqueId())) return;
+            GuiCooldowns.trigger(player.getUniqueId());
+            new PollListGUI(plugin).open(player);
+        }));
     }
 
-    private void addQuestionInfo(Gui gui, Poll poll, int totalVotes, boolean showVotes, Player player, int rows) {
-        int slot = 4;
-        Material material = parseMaterial(configManager.getGuiConfig().getString("voting-gui.items.question-info.material", "BOOK"));
-        String nameRaw = configManager.getGuiConfig().getString("voting-gui.items.question-info.name", "");
-        List<String> loreRaw = configManager.getGuiConfig().getStringList("voting-gui.items.question-info.lore");
-
-        String remaining = formatDuration(Math.max(0L, poll.getExpiresAt() - System.currentTimeMillis()));
-        String creatorName = getCreatorName(poll);
-
-        Map<String, String> replacements = Map.of(
-            "question", poll.getQuestion(),
-            "remaining", remaining,
-            "total_votes", String.valueOf(totalVotes),
-            "creator", creatorName
-        );
-
-        gui.setItem(slot, ItemBuilder.from(material)
-            .name(format(nameRaw, replacements))
-            .lore(formatLore(loreRaw, replacements, showVotes))
-            .asGuiItem(event -> event.setCancelled(true)));
+    private void addQuestionInfo(Gui gui, Poll poll, int totalVotes, boolean showVotes) {
+        GuiTemplates.Item info = configManager.getGuiTemplates().voting().questionInfo();
+        gui.setItem(info.slot(), new GuiItem(buildQuestionInfoStack(poll, totalVotes, showVotes), event -> event.setCancelled(true)));
     }
 
-    private void updateQuestionInfo(Gui gui, Poll poll, int totalVotes, boolean showVotes, Player player, int rows) {
-        int slot = 4;
-        Material material = parseMaterial(configManager.getGuiConfig().getString("voting-gui.items.question-info.material", "BOOK"));
-        String nameRaw = configManager.getGuiConfig().getString("voting-gui.items.question-info.name", "");
-        List<String> loreRaw = configManager.getGuiConfig().getStringList("voting-gui.items.question-info.lore");
+    private void updateQuestionInfo(Gui gui, SlotDiff diff, Poll poll, long version, int totalVotes, boolean showVotes, Player player, int rows) {
+        long remainingSeconds = Math.max(0L, poll.getExpiresAt() - System.currentTimeMillis()) / 1000L;
+        ItemStack newItem = ItemRenderCache.get(poll.getId(), "info", version, remainingSeconds,
+            () -> buildQuestionInfoStack(poll, totalVotes, showVotes));
+        diff.updateItem(gui, configManager.getGuiTemplates().voting().questionInfo().slot(), newItem);
+    }
 
+    private ItemStack buildQuestionInfoStack(Poll poll, int totalVotes, boolean showVotes) {
+        GuiTemplates.Item info = configManager.getGuiTemplates().voting().questionInfo();
         String remaining = formatDuration(Math.max(0L, poll.getExpiresAt() - System.currentTimeMillis()));
         String creatorName = getCreatorName(poll);
 
@@ -324,12 +292,10 @@ public final class PollVotingGUI {
             "creator", creatorName
         );
 
-        ItemStack newItem = ItemBuilder.from(material)
-            .name(format(nameRaw, replacements))
-            .lore(formatLore(loreRaw, replacements, showVotes))
+        return ItemBuilder.from(info.material())
+            .name(info.name().render(replacements))
+            .lore(formatLore(info.lore(showVotes), replacements))
             .build();
-
-        gui.updateItem(slot, newItem);
     }
 
     private String getCreatorName(Poll poll) {
@@ -337,32 +303,14 @@ public final class PollVotingGUI {
         return name != null && !name.isEmpty() ? name : "Unknown";
     }
 
-    private Component format(String input, Map<String, String> replacements) {
-        if (input == null) return Component.empty();
-        return StringUtils.format(applyReplacements(input, replacements));
-    }
-
-    private List<Component> formatLore(List<String> loreLines, Map<String, String> replacements, boolean showVotes) {
-        List<Component> components = new ArrayList<>();
-        if (loreLines == null) return components;
-        for (String line : loreLines) {
-            if (!showVotes && (line.contains("{votes}") || line.contains("{percentage}") || line.contains("{progress_bar}") || line.contains("{total_votes}"))) {
-                continue;
-            }
-            components.add(format(line, replacements));
+    private List<Component> formatLore(List<TextTemplate> lines, Map<String, String> replacements) {
+        List<Component> components = new ArrayList<>(lines.size());
+        for (TextTemplate line : lines) {
+            components.add(line.render(replacements));
         }
         return components;
     }
 
-    private Material resolveOptionMaterial(int index) {
-        List<String> materials = configManager.getGuiConfig().getStringList("voting-gui.items.option-item.materials");
-        if (materials != null && !materials.isEmpty()) {
-            String materialName = materials.get(index % materials.size());
-            return parseMaterial(materialName);
-        }
-        return parseMaterial(configManager.getGuiConfig().getString("voting-gui.items.option-item.material", "PAPER"));
-    }
-
     private String formatDuration(long millis) {
         long totalSeconds = Math.max(0L, TimeUnit.MILLISECONDS.toSeconds(millis));
         long hours = totalSeconds / 3600;
@@ -374,23 +322,4 @@ public final class PollVotingGUI {
         builder.append(seconds).append("s");
         return builder.toString();
     }
-
-    private String applyReplacements(String input, Map<String, String> replacements) {
-        String output = input;
-        for (Map.Entry<String, String> entry : replacements.entrySet()) {
-            output = output.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return output;
-    }
-
-    private Material parseMaterial(String materialName) {
-        if (materialName == null || materialName.isEmpty()) return Material.PAPER;
-        try { return Material.valueOf(materialName.toUpperCase(Locale.ROOT)); }
-        catch (IllegalArgumentException ex) { return Material.PAPER; }
-    }
-
-    public static void cancelUpdateTask(UUID playerId) {
-        ScheduledTask task = updateTasks.remove(playerId);
-        if (task != null) task.cancel();
-    }
 }
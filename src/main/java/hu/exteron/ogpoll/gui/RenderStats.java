@@ -0,0 +1,51 @@
+package hu.exteron.ogpoll.gui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Slot writes the GUIs sent or skipped since enable, reported by /poll stats
+public final class RenderStats {
+    private static final LongAdder SENT = new LongAdder();
+    private static final LongAdder SKIPPED = new LongAdder();
+    private static final LongAdder FULL_UPDATES = new LongAdder();
+    private static final LongAdder BUDGET_EXCEEDED = new LongAdder();
+    private static volatile long startedAt = System.currentTimeMillis();
+
+    private RenderStats() {
+    }
+
+    static void recordSent() {
+        SENT.increment();
+    }
+
+    static void recordSkipped() {
+        SKIPPED.increment();
+    }
+
+    static void recordFullUpdate() {
+        FULL_UPDATES.increment();
+    }
+
+    static void recordBudgetExceeded() {
+        BUDGET_EXCEEDED.increment();
+    }
+
+    public static void reset() {
+        SENT.reset();
+        SKIPPED.reset();
+        FULL_UPDATES.reset();
+        BUDGET_EXCEEDED.reset();
+        startedAt = System.currentTimeMillis();
+    }
+
+    public static Snapshot snapshot() {
+        long elapsed = Math.max(1L, System.currentTimeMillis() - startedAt);
+        return new Snapshot(SENT.sum(), SKIPPED.sum(), FULL_UPDATES.sum(), BUDGET_EXCEEDED.sum(), elapsed);
+    }
+
+    public record Snapshot(long sent, long skipped, long fullUpdates, long budgetExceeded, long elapsedMillis) {
+        public long perMinute(long count) {
+            return count * TimeUnit.MINUTES.toMillis(1) / elapsedMillis;
+        }
+    }
+}
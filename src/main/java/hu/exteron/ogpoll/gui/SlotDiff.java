@@ -0,0 +1,72 @@
+package hu.exteron.ogpoll.gui;
+
+import dev.triumphteam.gui.components.GuiAction;
+import dev.triumphteam.gui.guis.BaseGui;
+import dev.triumphteam.gui.guis.GuiItem;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// The last item written to each slot of one open GUI, so refreshes only send slots whose content changed.
+// Cached render stacks come back as the same instance while unchanged, which makes most checks a reference compare.
+final class SlotDiff {
+    private final Map<Integer, Written> written = new HashMap<>();
+    private String title;
+
+    void updateItem(BaseGui gui, int slot, ItemStack item) {
+        if (!changed(slot, item)) {
+            return;
+        }
+        gui.updateItem(slot, item.clone());
+    }
+
+    // Slots whose occupant changes between pages get their click action from the caller,
+    // which resolves the clicked entry when the click happens rather than when the item was written
+    void updateItem(BaseGui gui, int slot, ItemStack item, GuiAction<InventoryClickEvent> action) {
+        if (!changed(slot, item)) {
+            return;
+        }
+        gui.updateItem(slot, new GuiItem(item.clone(), action));
+    }
+
+    void clear(BaseGui gui, int slot) {
+        if (written.remove(slot) == null) {
+            return;
+        }
+        gui.removeItem(slot);
+        RenderStats.recordSent();
+    }
+
+    boolean titleChanged(String title) {
+        if (title.equals(this.title)) {
+            return false;
+        }
+        this.title = title;
+        return true;
+    }
+
+    private boolean changed(int slot, ItemStack item) {
+        Written previous = written.get(slot);
+        if (previous != null) {
+            if (previous.item == item) {
+                RenderStats.recordSkipped();
+                return false;
+            }
+            int hash = item.hashCode();
+            if (previous.hash == hash && previous.item.equals(item)) {
+                written.put(slot, new Written(item, hash));
+                RenderStats.recordSkipped();
+                return false;
+            }
+            written.put(slot, new Written(item, hash));
+        } else {
+            written.put(slot, new Written(item, item.hashCode()));
+        }
+        RenderStats.recordSent();
+        return true;
+    }
+
+    private record Written(ItemStack item, int hash) {}
+}
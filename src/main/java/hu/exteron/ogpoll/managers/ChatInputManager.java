@@ -127,14 +127,13 @@ public final class ChatInputManager implements Listener {
         if (config == null) {
             return null;
         }
-        String titleText = config.getMessagesConfig().getString("chat-input.title", "");
-        String subtitleText = config.getMessagesConfig().getString("chat-input.subtitle", "");
+        String titleText = config.rawMessage("chat-input.title", Map.of());
+        String subtitleText = config.rawMessage("chat-input.subtitle", Map.of("prompt", prompt));
         if (titleText.isEmpty() && subtitleText.isEmpty()) {
             return null;
         }
-        String resolvedSubtitle = subtitleText.replace("{prompt}", prompt);
         Component titleComponent = StringUtils.format(titleText);
-        Component subtitleComponent = StringUtils.format(resolvedSubtitle);
+        Component subtitleComponent = StringUtils.format(subtitleText);
         return Title.create(titleComponent, subtitleComponent, FADE_IN, STAY, FADE_OUT);
     }
 
@@ -1,8 +1,6 @@
 package hu.exteron.ogpoll.managers;
 
-import hu.exteron.ogpoll.gui.FinishedPollsGUI;
-import hu.exteron.ogpoll.gui.PollListGUI;
-import hu.exteron.ogpoll.gui.PollVotingGUI;
+import hu.exteron.ogpoll.OGPoll;
 import hu.exteron.ogpoll.utils.GuiCooldowns;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -21,10 +19,10 @@ public final class CleanupManager implements Listener {
         
         ChatInputManager.clear(event.getPlayer());
         
-        PollListGUI.cancelUpdateTask(playerId);
-        PollVotingGUI.cancelUpdateTask(playerId);
-        FinishedPollsGUI.cancelUpdateTask(playerId);
+        OGPoll.getInstance().getGuiTicker().close(playerId);
+        OGPoll.getInstance().getCommandManager().forgetListCursor(event.getPlayer().getName());
         
         GuiCooldowns.remove(playerId);
+        OGPoll.getInstance().getPollManager().getVoteCache().evict(playerId);
     }
 }
@@ -0,0 +1,10 @@
+package hu.exteron.ogpoll.models;
+
+// Everything the voting GUI needs to open for one player: the poll with its options,
+// the vote counts, and the option the player picked (null if they have not voted)
+public record PollView(Poll poll, VoteTally tally, Integer playerOptionId) {
+
+    public boolean hasVoted() {
+        return playerOptionId != null;
+    }
+}
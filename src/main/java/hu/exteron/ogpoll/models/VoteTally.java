@@ -0,0 +1,71 @@
+package hu.exteron.ogpoll.models;
+
+import java.util.Arrays;
+
+// Vote counts indexed by PollOption.displayOrder, with the total summed once on construction
+public final class VoteTally {
+    private static final VoteTally EMPTY = new VoteTally(new int[0]);
+
+    private final int[] votes;
+    private final int total;
+
+    private VoteTally(int[] votes) {
+        this.votes = votes;
+        int sum = 0;
+        for (int count : votes) {
+            sum += count;
+        }
+        this.total = sum;
+    }
+
+    public static VoteTally empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getVotes(PollOption option) {
+        return getVotes(option.getDisplayOrder());
+    }
+
+    public int getVotes(int displayOrder) {
+        return displayOrder >= 0 && displayOrder < votes.length ? votes[displayOrder] : 0;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int size() {
+        return votes.length;
+    }
+
+    public static final class Builder {
+        private int[] votes = new int[8];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(int displayOrder, int count) {
+            if (displayOrder < 0) {
+                return this;
+            }
+            if (displayOrder >= votes.length) {
+                votes = Arrays.copyOf(votes, Math.max(votes.length * 2, displayOrder + 1));
+            }
+            votes[displayOrder] = count;
+            size = Math.max(size, displayOrder + 1);
+            return this;
+        }
+
+        public VoteTally build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new VoteTally(Arrays.copyOf(votes, size));
+        }
+    }
+}
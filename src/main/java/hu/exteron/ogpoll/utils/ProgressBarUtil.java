@@ -1,30 +1,8 @@
 package hu.exteron.ogpoll.utils;
 
-import com.artillexstudios.axapi.config.Config;
-
 public class ProgressBarUtil {
 
-    public static String createProgressBar(int votes, int totalVotes, int length, String filledChar, String emptyChar, Config config) {
-        if (totalVotes == 0) {
-            return createBar(0, length, filledChar, emptyChar, "<gray>");
-        }
-
-        double percentage = (double) votes / totalVotes * 100;
-        int filled = (int) Math.round((double) votes / totalVotes * length);
-
-        String color;
-        if (percentage >= 60) {
-            color = config.getString("voting-gui.progress_bar.colors.high", "<green>");
-        } else if (percentage >= 30) {
-            color = config.getString("voting-gui.progress_bar.colors.medium", "<yellow>");
-        } else {
-            color = config.getString("voting-gui.progress_bar.colors.low", "<gray>");
-        }
-
-        return createBar(filled, length, filledChar, emptyChar, color);
-    }
-
-    private static String createBar(int filled, int total, String filledChar, String emptyChar, String color) {
+    public static String createBar(int filled, int total, String filledChar, String emptyChar, String color) {
         StringBuilder bar = new StringBuilder();
         bar.append(color);
 
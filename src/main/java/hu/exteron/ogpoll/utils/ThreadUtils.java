@@ -3,7 +3,14 @@ package hu.exteron.ogpoll.utils;
 import com.artillexstudios.axapi.scheduler.Scheduler;
 import org.bukkit.Bukkit;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 public final class ThreadUtils {
+    public static final Executor MAIN = ThreadUtils::runSync;
+
     private ThreadUtils() {
     }
 
@@ -34,4 +41,17 @@ public final class ThreadUtils {
             Scheduler.get().run(runnable);
         }
     }
+
+    // The one hop back to the main thread at the end of an async chain
+    public static <T> void onMain(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenCompleteAsync((result, throwable) -> {
+            if (throwable == null) {
+                onSuccess.accept(result);
+            } else if (onError != null) {
+                onError.accept(throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable);
+            }
+        }, MAIN);
+    }
 }
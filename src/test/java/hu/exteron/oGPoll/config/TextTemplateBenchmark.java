@@ -0,0 +1,81 @@
+package hu.exteron.ogpoll.config;
+
+import com.artillexstudios.axapi.utils.StringUtils;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Latency of filling and parsing one lore line per call: String.replace per map key followed by a MiniMessage
+// parse, against TextTemplate. The *Only pairs leave parsing out; the static pair shows the cached Component.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextTemplateBenchmark {
+    private static final String DYNAMIC = "<gray>{option}: <white>{votes} <gray>votes (<yellow>{percent}%<gray>) - ends in {time}";
+    private static final String STATIC = "<gradient:#ffaa00:#ff5500>Click to vote!</gradient>";
+
+    private Map<String, String> replacements;
+    private TextTemplate dynamicTemplate;
+    private TextTemplate staticTemplate;
+
+    @Setup
+    public void setUp() {
+        replacements = new LinkedHashMap<>();
+        replacements.put("option", "Yes");
+        replacements.put("votes", "1234");
+        replacements.put("percent", "56.7");
+        replacements.put("time", "2h 15m");
+        replacements.put("question", "Should we reset the map?");
+        replacements.put("creator", "Exteron");
+        dynamicTemplate = TextTemplate.compile(DYNAMIC);
+        staticTemplate = TextTemplate.compile(STATIC);
+    }
+
+    @Benchmark
+    public String replaceOnly() {
+        return applyReplacements(DYNAMIC, replacements);
+    }
+
+    @Benchmark
+    public String templateResolveOnly() {
+        return dynamicTemplate.resolve(replacements);
+    }
+
+    @Benchmark
+    public Component replaceAndParse() {
+        return StringUtils.format(applyReplacements(DYNAMIC, replacements));
+    }
+
+    @Benchmark
+    public Component templateRender() {
+        return dynamicTemplate.render(replacements);
+    }
+
+    @Benchmark
+    public Component staticParse() {
+        return StringUtils.format(applyReplacements(STATIC, replacements));
+    }
+
+    @Benchmark
+    public Component staticTemplateRender() {
+        return staticTemplate.render(replacements);
+    }
+
+    // The ConfigManager and GUI code this replaced
+    private static String applyReplacements(String input, Map<String, String> replacements) {
+        String output = input;
+        for (Map.Entry<String, String> entry : replacements.entrySet()) {
+            output = output.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return output;
+    }
+}
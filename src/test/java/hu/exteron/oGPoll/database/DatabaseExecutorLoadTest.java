@@ -0,0 +1,74 @@
+package hu.exteron.ogpoll.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseExecutorLoadTest {
+    private static final int CONNECTIONS = 4;
+    private static final int RESERVED_WRITES = 1;
+    private static final int CAPACITY = 4000;
+    private static final int READS = 2000;
+    private static final int WRITES = 50;
+    private static final long READ_MILLIS = 5L;
+
+    private final DatabaseExecutor executor = new DatabaseExecutor(CONNECTIONS, RESERVED_WRITES, CAPACITY);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void writesOvertakeQueuedReads() throws Exception {
+        CountDownLatch readsDone = new CountDownLatch(READS);
+        AtomicInteger peakActiveReads = new AtomicInteger();
+        for (int i = 0; i < READS; i++) {
+            executor.execute(DatabaseExecutor.Priority.READ, () -> {
+                peakActiveReads.accumulateAndGet(executor.snapshot().activeReads(), Math::max);
+                sleep(READ_MILLIS);
+                readsDone.countDown();
+            });
+        }
+
+        // Every read is queued ahead of every write; a write that waited its turn would finish after all of them
+        long[] readsLeft = new long[WRITES];
+        CountDownLatch writesDone = new CountDownLatch(WRITES);
+        for (int i = 0; i < WRITES; i++) {
+            int index = i;
+            executor.execute(DatabaseExecutor.Priority.WRITE, () -> {
+                readsLeft[index] = readsDone.getCount();
+                writesDone.countDown();
+            });
+        }
+
+        assertTrue(writesDone.await(60L, TimeUnit.SECONDS), "writes did not finish");
+        assertTrue(readsDone.await(60L, TimeUnit.SECONDS), "reads did not finish");
+        for (int i = 0; i < WRITES; i++) {
+            assertTrue(readsLeft[i] > 0L, "write " + i + " ran after every queued read");
+        }
+        assertTrue(peakActiveReads.get() <= CONNECTIONS - RESERVED_WRITES,
+            "reads held " + peakActiveReads.get() + " connections");
+
+        // Tasks are counted once they return, after the latches above are released
+        executor.shutdown();
+        DatabaseExecutor.Snapshot snapshot = executor.snapshot();
+        assertEquals(READS + WRITES, snapshot.completed());
+        assertEquals(0L, snapshot.rejected());
+        assertEquals(0, snapshot.active());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package hu.exteron.ogpoll.database;
+
+import hu.exteron.ogpoll.models.Poll;
+import hu.exteron.ogpoll.models.PollView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PollQueryRoundTripTest {
+    private static final UUID VOTER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID CREATOR = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private Connection raw;
+    private Connection connection;
+    private final AtomicInteger statements = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        raw = DriverManager.getConnection("jdbc:h2:mem:round-trip-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = raw.createStatement()) {
+            statement.execute(DatabaseManager.CREATE_POLLS);
+            statement.execute(DatabaseManager.CREATE_POLL_OPTIONS);
+            statement.execute(DatabaseManager.CREATE_VOTES);
+        }
+        int first = insertPoll("First?", 1000L, true, "Yes", "No");
+        insertPoll("Second?", 2000L, true, "A", "B", "C");
+        insertPoll("Closed?", 500L, false, "X", "Y");
+        vote(first, VOTER, optionId(first, 1));
+        vote(first, CREATOR, optionId(first, 0));
+        connection = counting(raw);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        raw.close();
+    }
+
+    @Test
+    void activePollsWithOptionsLoadInOneStatement() throws Exception {
+        List<Poll> polls = DatabaseManager.queryActivePolls(connection);
+
+        assertEquals(1, statements.get());
+        assertEquals(2, polls.size());
+        assertEquals("Second?", polls.get(0).getQuestion());
+        assertEquals(3, polls.get(0).getOptions().size());
+        assertEquals(2, polls.get(1).getOptions().size());
+        assertEquals(1, polls.get(1).getOptions().get(1).getVoteCount());
+    }
+
+    @Test
+    void pollViewLoadsInOneStatement() throws Exception {
+        int pollId = pollId("First?");
+
+        PollView view = DatabaseManager.queryPollView(connection, pollId, VOTER);
+
+        assertEquals(1, statements.get());
+        assertNotNull(view);
+        assertEquals(2, view.poll().getOptions().size());
+        assertEquals(2, view.tally().getTotal());
+        assertEquals(Integer.valueOf(optionId(pollId, 1)), view.playerOptionId());
+    }
+
+    @Test
+    void pollViewWithoutVoteHasNoChosenOption() throws Exception {
+        PollView view = DatabaseManager.queryPollView(connection, pollId("Second?"), UUID.randomUUID());
+
+        assertEquals(1, statements.get());
+        assertEquals(3, view.poll().getOptions().size());
+        assertNull(view.playerOptionId());
+    }
+
+    @Test
+    void pollViewOfMissingPollIsNull() throws Exception {
+        assertNull(DatabaseManager.queryPollView(connection, -1, VOTER));
+        assertEquals(1, statements.get());
+    }
+
+    // Counts the statements DatabaseManager opens on the connection it is handed; fixtures go through raw
+    private Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                    statements.incrementAndGet();
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        );
+    }
+
+    private int insertPoll(String question, long createdAt, boolean active, String... options) throws Exception {
+        int pollId;
+        try (PreparedStatement statement = raw.prepareStatement(
+            "INSERT INTO polls (question, creator_uuid, creator_name, created_at, expires_at, active) VALUES (?, ?, ?, ?, ?, ?)",
+            Statement.RETURN_GENERATED_KEYS
+        )) {
+            statement.setString(1, question);
+            statement.setString(2, CREATOR.toString());
+            statement.setString(3, "Creator");
+            statement.setLong(4, createdAt);
+            statement.setLong(5, createdAt + 60000L);
+            statement.setBoolean(6, active);
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                pollId = keys.getInt(1);
+            }
+        }
+        try (PreparedStatement statement = raw.prepareStatement(
+            "INSERT INTO poll_options (poll_id, option_text, display_order) VALUES (?, ?, ?)"
+        )) {
+            for (int i = 0; i < options.length; i++) {
+                statement.setInt(1, pollId);
+                statement.setString(2, options[i]);
+                statement.setInt(3, i);
+                statement.executeUpdate();
+            }
+        }
+        return pollId;
+    }
+
+    private void vote(int pollId, UUID player, int optionId) throws Exception {
+        try (PreparedStatement statement = raw.prepareStatement(
+            "INSERT INTO votes (poll_id, option_id, player_uuid, voted_at) VALUES (?, ?, ?, 0)"
+        )) {
+            statement.setInt(1, pollId);
+            statement.setInt(2, optionId);
+            statement.setString(3, player.toString());
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = raw.prepareStatement(
+            "UPDATE poll_options SET vote_count = vote_count + 1 WHERE id = ?"
+        )) {
+            statement.setInt(1, optionId);
+            statement.executeUpdate();
+        }
+    }
+
+    private int optionId(int pollId, int displayOrder) throws Exception {
+        try (PreparedStatement statement = raw.prepareStatement(
+            "SELECT id FROM poll_options WHERE poll_id = ? AND display_order = ?"
+        )) {
+            statement.setInt(1, pollId);
+            statement.setInt(2, displayOrder);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private int pollId(String question) throws Exception {
+        try (PreparedStatement statement = raw.prepareStatement("SELECT id FROM polls WHERE question = ?")) {
+            statement.setString(1, question);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
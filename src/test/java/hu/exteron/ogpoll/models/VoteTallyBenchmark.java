@@ -0,0 +1,69 @@
+package hu.exteron.ogpoll.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The tally side of one menu refresh, as the boxed map it replaced and as VoteTally: build it from the
+// loaded counts, then read the total and every option. gc.alloc.rate.norm is the number to compare.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VoteTallyBenchmark {
+    @Param({"2", "6"})
+    private int optionCount;
+
+    private List<PollOption> options;
+    private int[] counts;
+
+    @Setup
+    public void setUp() {
+        options = new ArrayList<>(optionCount);
+        counts = new int[optionCount];
+        for (int i = 0; i < optionCount; i++) {
+            PollOption option = new PollOption();
+            option.setId(1000 + i);
+            option.setDisplayOrder(i);
+            options.add(option);
+            // Above the Integer cache, as any poll that has been open for a while is
+            counts[i] = 500 + i * 37;
+        }
+    }
+
+    @Benchmark
+    public void boxedMap(Blackhole blackhole) {
+        Map<Integer, Integer> tally = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            tally.put(options.get(i).getId(), counts[i]);
+        }
+        blackhole.consume(tally.values().stream().mapToInt(Integer::intValue).sum());
+        for (PollOption option : options) {
+            blackhole.consume(tally.getOrDefault(option.getId(), 0));
+        }
+    }
+
+    @Benchmark
+    public void voteTally(Blackhole blackhole) {
+        VoteTally.Builder builder = VoteTally.builder();
+        for (int i = 0; i < counts.length; i++) {
+            builder.add(options.get(i).getDisplayOrder(), counts[i]);
+        }
+        VoteTally tally = builder.build();
+        blackhole.consume(tally.getTotal());
+        for (PollOption option : options) {
+            blackhole.consume(tally.getVotes(option));
+        }
+    }
+}